@@ -0,0 +1,173 @@
+package com.multi.loyaltybackend.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.multi.loyaltybackend.config.LoggingConstants;
+import com.multi.loyaltybackend.dto.CompanyResponseDTO;
+import com.multi.loyaltybackend.dto.VoucherDTO;
+import com.multi.loyaltybackend.model.Company;
+import com.multi.loyaltybackend.model.Voucher;
+import com.multi.loyaltybackend.repository.CompanyRepository;
+import com.multi.loyaltybackend.repository.VoucherRepository;
+import com.multi.loyaltybackend.service.ImageStorageService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, versioned snapshot of all companies with their vouchers, as served by
+ * {@code GET /api/companies}, together with a strong ETag of its JSON.
+ * <p>
+ * The snapshot holds host-relative logo URLs; every read resolves them against the
+ * caller's base URL and derives the ETag from the snapshot's and that base URL. Readers
+ * take the current snapshot from a volatile field without locking. Company and voucher
+ * writes only mark it stale after commit with {@link #invalidate()}; the next read
+ * rebuilds it from the committed data in its own read-only transaction, so a failing
+ * rebuild surfaces on a read instead of on a write that already committed. Rebuilds are
+ * serialized, and one that overlaps an invalidation is served but stays stale. The DTOs
+ * in a snapshot are shared between requests and must not be modified.
+ */
+@Slf4j
+@Component
+public class CompanyCatalogCache {
+
+    public record Snapshot(List<CompanyResponseDTO> companies, String etag, long version) {
+    }
+
+    // A snapshot together with the invalidation generation it was built for
+    private record Built(Snapshot snapshot, long generation) {
+    }
+
+    private final CompanyRepository companyRepository;
+    private final VoucherRepository voucherRepository;
+    private final ImageStorageService imageStorageService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readTransaction;
+    private final Timer rebuilds;
+    private final Object rebuildLock = new Object();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Built current;
+
+    public CompanyCatalogCache(CompanyRepository companyRepository,
+                               VoucherRepository voucherRepository,
+                               ImageStorageService imageStorageService,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.companyRepository = companyRepository;
+        this.voucherRepository = voucherRepository;
+        this.imageStorageService = imageStorageService;
+        this.objectMapper = objectMapper;
+        // Reads the committed data even when called inside a caller's transaction
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.rebuilds = Timer.builder("company_catalog.rebuild").register(meterRegistry);
+    }
+
+    /**
+     * Returns the current snapshot with logo URLs resolved against the base URL, rebuilding
+     * it first if none was built yet or it was marked stale
+     */
+    public Snapshot get(String baseUrl) {
+        Built built = current;
+        if (built == null || built.generation() != generation.get()) {
+            built = rebuild();
+        }
+        return resolve(built.snapshot(), baseUrl);
+    }
+
+    /**
+     * Marks the snapshot stale after a committed company or voucher change
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private Built rebuild() {
+        synchronized (rebuildLock) {
+            Built built = current;
+            long stamp = generation.get();
+            // Another reader rebuilt it while this one waited for the lock
+            if (built != null && built.generation() == stamp) {
+                return built;
+            }
+            Snapshot snapshot = rebuilds.record(() -> readTransaction.execute(status -> load()));
+            built = new Built(snapshot, stamp);
+            current = built;
+            log.debug("{} Company catalog snapshot v{} built with {} companies",
+                    LoggingConstants.SYSTEM, snapshot.version(), snapshot.companies().size());
+            return built;
+        }
+    }
+
+    private Snapshot load() {
+        List<Company> companies = companyRepository.findAll();
+        Map<Long, List<Voucher>> vouchersByCompany = voucherRepository.findAllWithCompany().stream()
+                .collect(Collectors.groupingBy(voucher -> voucher.getCompany().getId()));
+
+        List<CompanyResponseDTO> dtos = companies.stream()
+                .map(company -> CompanyResponseDTO.builder()
+                        .id(company.getId())
+                        .name(company.getName())
+                        .logoFileName(imageStorageService.getFileUrl(company.getLogoFileName(), ""))
+                        .vouchers(vouchersByCompany.getOrDefault(company.getId(), List.of()).stream()
+                                .map(voucher -> VoucherDTO.builder()
+                                        .id(voucher.getId())
+                                        .title(voucher.getTitle())
+                                        .expiry(voucher.getExpiry())
+                                        .points(voucher.getPoints())
+                                        .build())
+                                .toList())
+                        .build())
+                .toList();
+
+        Built previous = current;
+        long version = previous != null ? previous.snapshot().version() + 1 : 1;
+        return new Snapshot(dtos, etag(dtos), version);
+    }
+
+    private static Snapshot resolve(Snapshot snapshot, String baseUrl) {
+        List<CompanyResponseDTO> companies = snapshot.companies().stream()
+                .map(company -> CompanyResponseDTO.builder()
+                        .id(company.getId())
+                        .name(company.getName())
+                        .logoFileName(ImageStorageService.toAbsoluteUrl(company.getLogoFileName(), baseUrl))
+                        .vouchers(company.getVouchers())
+                        .build())
+                .toList();
+        // The response differs per base URL, so its ETag must as well
+        return new Snapshot(companies, digest((snapshot.etag() + baseUrl).getBytes(StandardCharsets.UTF_8)),
+                snapshot.version());
+    }
+
+    private String etag(List<CompanyResponseDTO> companies) {
+        try {
+            return digest(objectMapper.writeValueAsBytes(companies));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to compute ETag for company catalog", e);
+        }
+    }
+
+    private static String digest(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.multi.loyaltybackend.cache;
+
+import com.multi.loyaltybackend.model.Event;
+import com.multi.loyaltybackend.util.TransactionUtils;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA listener on {@link Event} that patches the in-memory event read models once the
+ * surrounding transaction commits, so writes from the services, the admin panel and
+ * the data initializer are all picked up.
+ * <p>
+ * Instantiated by Hibernate through Spring's bean container; the read models are resolved
+ * lazily because they depend on the repositories this listener is created alongside.
+ */
+public class EventChangeListener {
+
+    private final ObjectProvider<UpcomingEventSnapshot> snapshot;
+    private final ObjectProvider<EventSearchIndex> searchIndex;
+    private final ObjectProvider<EventGeoIndex> geoIndex;
+    private final ObjectProvider<EventDetailCache> detailCache;
+
+    public EventChangeListener(ObjectProvider<UpcomingEventSnapshot> snapshot,
+                               ObjectProvider<EventSearchIndex> searchIndex,
+                               ObjectProvider<EventGeoIndex> geoIndex,
+                               ObjectProvider<EventDetailCache> detailCache) {
+        this.snapshot = snapshot;
+        this.searchIndex = searchIndex;
+        this.geoIndex = geoIndex;
+        this.detailCache = detailCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Event event) {
+        UpcomingEventSnapshot.Entry entry =
+                new UpcomingEventSnapshot.Entry(event.getId(), event.getDateTime(), event.getCategory());
+        EventSearchIndex.Document document = EventSearchIndex.Document.of(event);
+        long eventId = event.getId();
+        Double latitude = event.getLatitude();
+        Double longitude = event.getLongitude();
+        TransactionUtils.afterCommit(() -> {
+            snapshot.getObject().upsert(entry);
+            searchIndex.getObject().upsert(document);
+            geoIndex.getObject().upsert(eventId, latitude, longitude);
+            detailCache.getObject().invalidate(eventId);
+        });
+    }
+
+    @PostRemove
+    public void onRemoved(Event event) {
+        long eventId = event.getId();
+        TransactionUtils.afterCommit(() -> {
+            snapshot.getObject().remove(eventId);
+            searchIndex.getObject().remove(eventId);
+            geoIndex.getObject().remove(eventId);
+            detailCache.getObject().invalidate(eventId);
+        });
+    }
+}
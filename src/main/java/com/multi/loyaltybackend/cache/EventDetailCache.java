@@ -0,0 +1,129 @@
+package com.multi.loyaltybackend.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.multi.loyaltybackend.dto.EventResponseDTO;
+import com.multi.loyaltybackend.dto.UserDTO;
+import com.multi.loyaltybackend.service.ImageStorageService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache of event detail responses keyed by event id, each with a strong ETag derived
+ * from the serialized response so it stays stable across restarts.
+ * <p>
+ * Cached responses hold host-relative image URLs, so one entry serves clients reaching the
+ * API through any host or proxy; every read resolves them against the caller's base URL
+ * and derives the ETag from the cached one and that base URL.
+ * <p>
+ * Every invalidation bumps a per-event version; a response loaded under an older version
+ * is returned to its caller but not cached, so a load racing with a write cannot
+ * reinstate stale data. Entries also expire after a TTL to bound staleness from data
+ * the cache is not told about (e.g. attendee avatars).
+ */
+@Component
+public class EventDetailCache {
+
+    public record Entry(EventResponseDTO response, String etag, long loadedAt) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final long ttlMillis;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public EventDetailCache(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.event-detail-cache.ttl-ms:300000}") long ttlMillis) {
+        this.objectMapper = objectMapper;
+        this.ttlMillis = ttlMillis;
+        this.hits = Counter.builder("event_detail_cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("event_detail_cache.requests").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached response, or loads, tags and caches it, with image URLs resolved
+     * against the base URL
+     *
+     * @param loader Loads the response with host-relative image URLs
+     */
+    public Entry get(Long eventId, String baseUrl, Supplier<EventResponseDTO> loader) {
+        Entry cached = entries.get(eventId);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt() < ttlMillis) {
+            hits.increment();
+            return resolve(cached, baseUrl);
+        }
+        misses.increment();
+
+        long version = versions.getOrDefault(eventId, 0L);
+        EventResponseDTO response = loader.get();
+        Entry loaded = new Entry(response, etag(response), System.currentTimeMillis());
+        entries.compute(eventId, (id, existing) ->
+                versions.getOrDefault(id, 0L) == version ? loaded : existing);
+        return resolve(loaded, baseUrl);
+    }
+
+    /**
+     * Drops the cached response; call after the change is committed
+     */
+    public void invalidate(Long eventId) {
+        versions.merge(eventId, 1L, Long::sum);
+        entries.remove(eventId);
+    }
+
+    private static Entry resolve(Entry entry, String baseUrl) {
+        EventResponseDTO r = entry.response();
+        List<UserDTO> registrations = r.registrations().stream()
+                .map(user -> UserDTO.builder()
+                        .id(user.getId())
+                        .fileName(ImageStorageService.toAbsoluteUrl(user.getFileName(), baseUrl))
+                        .status(user.getStatus())
+                        .build())
+                .toList();
+        EventResponseDTO resolved = new EventResponseDTO(r.id(),
+                ImageStorageService.toAbsoluteUrl(r.fileName(), baseUrl),
+                ImageStorageService.toAbsoluteUrl(r.thumbnailFileName(), baseUrl),
+                ImageStorageService.toAbsoluteUrl(r.detailFileName(), baseUrl),
+                r.title(), r.shortDescription(), r.description(), r.category(), r.address(),
+                r.latitude(), r.longitude(), r.dateTime(), r.participantsPending(), r.participantsRegistered(),
+                r.participantsCompleted(), r.participantsCancelled(), r.maxParticipants(), r.createdAt(),
+                r.updatedAt(), registrations);
+        return new Entry(resolved, etag(entry.etag(), baseUrl), entry.loadedAt());
+    }
+
+    // The response differs per base URL, so its ETag must as well
+    private static String etag(String cachedEtag, String baseUrl) {
+        return digest((cachedEtag + baseUrl).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String digest(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private String etag(EventResponseDTO response) {
+        try {
+            return digest(objectMapper.writeValueAsBytes(response));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to compute ETag for Event ID=" + response.id(), e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.multi.loyaltybackend.cache;
+
+import com.multi.loyaltybackend.config.LoggingConstants;
+import com.multi.loyaltybackend.repository.EventRepository;
+import com.multi.loyaltybackend.util.GeoUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Uniform latitude/longitude grid over events that have a location.
+ * <p>
+ * A radius query visits only the cells overlapping the query's bounding box and keeps the
+ * candidates whose haversine distance is within the radius. Built on startup and updated
+ * per event by {@link EventChangeListener} after commit.
+ */
+@Slf4j
+@Component
+public class EventGeoIndex {
+
+    private static final double CELL_DEGREES = 0.05;
+    private static final int LONGITUDE_CELLS = (int) Math.ceil(360 / CELL_DEGREES);
+
+    public record Position(long id, double latitude, double longitude) {
+    }
+
+    public record Match(long id, double distanceKm) {
+    }
+
+    private final EventRepository eventRepository;
+    private final Object writeLock = new Object();
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+    private final Map<Long, Position> positions = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public EventGeoIndex(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (writeLock) {
+            cells.clear();
+            positions.clear();
+            eventRepository.findAll().stream()
+                    .filter(event -> event.getLatitude() != null && event.getLongitude() != null)
+                    .forEach(event -> index(new Position(event.getId(), event.getLatitude(), event.getLongitude())));
+            ready = true;
+            log.info("{} Event geo index built with {} located events", LoggingConstants.SYSTEM, positions.size());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Indexes a committed event; a null position removes it from the grid
+     */
+    public void upsert(long eventId, Double latitude, Double longitude) {
+        synchronized (writeLock) {
+            unindex(eventId);
+            if (latitude != null && longitude != null) {
+                index(new Position(eventId, latitude, longitude));
+            }
+        }
+    }
+
+    public void remove(long eventId) {
+        synchronized (writeLock) {
+            unindex(eventId);
+        }
+    }
+
+    /**
+     * Returns events within the radius, nearest first
+     */
+    public List<Match> findWithin(double latitude, double longitude, double radiusKm) {
+        GeoUtils.BoundingBox box = GeoUtils.boundingBox(latitude, longitude, radiusKm);
+        int minRow = row(box.minLatitude());
+        int maxRow = row(box.maxLatitude());
+        List<int[]> columnRanges = box.crossesAntimeridian()
+                ? List.of(new int[]{column(box.minLongitude()), LONGITUDE_CELLS - 1}, new int[]{0, column(box.maxLongitude())})
+                : List.<int[]>of(new int[]{column(box.minLongitude()), column(box.maxLongitude())});
+
+        List<Match> matches = new ArrayList<>();
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int[] range : columnRanges) {
+                for (int column = range[0]; column <= range[1]; column++) {
+                    Set<Long> ids = cells.get(cellKey(row, column));
+                    if (ids == null) {
+                        continue;
+                    }
+                    for (Long id : ids) {
+                        Position position = positions.get(id);
+                        if (position == null) {
+                            continue;
+                        }
+                        double distance = GeoUtils.distanceKm(latitude, longitude, position.latitude(), position.longitude());
+                        if (distance <= radiusKm) {
+                            matches.add(new Match(id, distance));
+                        }
+                    }
+                }
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::distanceKm).thenComparingLong(Match::id));
+        return matches;
+    }
+
+    private void index(Position position) {
+        positions.put(position.id(), position);
+        cells.computeIfAbsent(cellKey(position.latitude(), position.longitude()), key -> ConcurrentHashMap.newKeySet())
+                .add(position.id());
+    }
+
+    private void unindex(long eventId) {
+        Position previous = positions.remove(eventId);
+        if (previous == null) {
+            return;
+        }
+        cells.computeIfPresent(cellKey(previous.latitude(), previous.longitude()), (key, ids) -> {
+            ids.remove(eventId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static long cellKey(double latitude, double longitude) {
+        return cellKey(row(latitude), column(longitude));
+    }
+
+    private static long cellKey(int row, int column) {
+        return ((long) row << 32) | column;
+    }
+
+    private static int row(double latitude) {
+        return (int) Math.floor((latitude + 90) / CELL_DEGREES);
+    }
+
+    private static int column(double longitude) {
+        return Math.min(LONGITUDE_CELLS - 1, (int) Math.floor((longitude + 180) / CELL_DEGREES));
+    }
+}
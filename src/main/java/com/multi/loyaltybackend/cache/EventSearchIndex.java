@@ -0,0 +1,209 @@
+package com.multi.loyaltybackend.cache;
+
+import com.multi.loyaltybackend.config.LoggingConstants;
+import com.multi.loyaltybackend.model.Event;
+import com.multi.loyaltybackend.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Inverted index over event title, short description, address and description.
+ * <p>
+ * Text is NFKC-normalized, lower-cased and split on anything that is not a letter or digit,
+ * so Georgian (Mkhedruli and Mtavruli) and Latin words tokenize the same way. Terms live in a
+ * sorted map, so every query token matches as a prefix with a range scan. A document must
+ * match all query tokens; matches are ranked by field weight and inverse document frequency,
+ * with exact terms scoring above prefix matches.
+ * <p>
+ * Built on startup and updated per event by {@link EventChangeListener} after commit.
+ */
+@Slf4j
+@Component
+public class EventSearchIndex {
+
+    private static final int TITLE_WEIGHT = 8;
+    private static final int SHORT_DESCRIPTION_WEIGHT = 4;
+    private static final int ADDRESS_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    /**
+     * Field text captured from an {@link Event} at write time
+     */
+    public record Document(long id, String title, String shortDescription, String address, String description) {
+
+        public static Document of(Event event) {
+            return new Document(event.getId(), event.getTitle(), event.getShortDescription(),
+                    event.getAddress(), event.getDescription());
+        }
+    }
+
+    private final EventRepository eventRepository;
+    private final Object writeLock = new Object();
+    // term -> (event id -> summed field weight)
+    private final ConcurrentNavigableMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Set<String>> documentTerms = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public EventSearchIndex(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (writeLock) {
+            postings.clear();
+            documentTerms.clear();
+            eventRepository.findAll().forEach(event -> index(Document.of(event)));
+            ready = true;
+            log.info("{} Event search index built with {} events and {} terms",
+                    LoggingConstants.SYSTEM, documentTerms.size(), postings.size());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Indexes or re-indexes a committed event
+     */
+    public void upsert(Document document) {
+        synchronized (writeLock) {
+            unindex(document.id());
+            index(document);
+        }
+    }
+
+    /**
+     * Drops a committed event delete
+     */
+    public void remove(long eventId) {
+        synchronized (writeLock) {
+            unindex(eventId);
+        }
+    }
+
+    /**
+     * Whether the query has any searchable tokens; a query made only of ignored characters
+     * (punctuation, whitespace) matches no event
+     */
+    public static boolean isSearchable(String query) {
+        return !tokenize(query).isEmpty();
+    }
+
+    /**
+     * Returns ids of events matching every token of the query, most relevant first.
+     * Returns null when the query has no searchable tokens.
+     */
+    public List<Long> search(String query) {
+        Set<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return null;
+        }
+
+        double documentCount = Math.max(1, documentTerms.size());
+        Map<Long, Double> scores = null;
+        for (String token : queryTokens) {
+            Map<Long, Double> tokenScores = new HashMap<>();
+            ConcurrentNavigableMap<String, Map<Long, Integer>> matches =
+                    postings.subMap(token, true, token + Character.MAX_VALUE, false);
+            for (Map.Entry<String, Map<Long, Integer>> term : matches.entrySet()) {
+                Map<Long, Integer> documents = term.getValue();
+                double idf = Math.log(1 + documentCount / documents.size());
+                double factor = term.getKey().equals(token) ? 1.0 : PREFIX_MATCH_FACTOR;
+                documents.forEach((id, weight) -> tokenScores.merge(id, weight * idf * factor, Math::max));
+            }
+
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                Map<Long, Double> previous = scores;
+                scores = new HashMap<>();
+                for (Map.Entry<Long, Double> entry : tokenScores.entrySet()) {
+                    Double score = previous.get(entry.getKey());
+                    if (score != null) {
+                        scores.put(entry.getKey(), score + entry.getValue());
+                    }
+                }
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        return ranked.stream().map(Map.Entry::getKey).toList();
+    }
+
+    private void index(Document document) {
+        Map<String, Integer> weights = new HashMap<>();
+        addField(weights, document.title(), TITLE_WEIGHT);
+        addField(weights, document.shortDescription(), SHORT_DESCRIPTION_WEIGHT);
+        addField(weights, document.address(), ADDRESS_WEIGHT);
+        addField(weights, document.description(), DESCRIPTION_WEIGHT);
+
+        weights.forEach((term, weight) ->
+                postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(document.id(), weight));
+        documentTerms.put(document.id(), weights.keySet());
+    }
+
+    private void unindex(long eventId) {
+        Set<String> terms = documentTerms.remove(eventId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            postings.computeIfPresent(term, (key, documents) -> {
+                documents.remove(eventId);
+                return documents.isEmpty() ? null : documents;
+            });
+        }
+    }
+
+    private static void addField(Map<String, Integer> weights, String text, int weight) {
+        for (String token : tokenize(text)) {
+            weights.merge(token, weight, Integer::sum);
+        }
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && isWordChar(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || Character.getType(c) == Character.NON_SPACING_MARK;
+    }
+}
@@ -0,0 +1,374 @@
+package com.multi.loyaltybackend.cache;
+
+import com.multi.loyaltybackend.config.LoggingConstants;
+import com.multi.loyaltybackend.model.LeaderboardPeriod;
+import com.multi.loyaltybackend.model.PointsTransactionType;
+import com.multi.loyaltybackend.repository.PointsTransactionRepository;
+import com.multi.loyaltybackend.repository.UserPointsDelta;
+import com.multi.loyaltybackend.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory points leaderboards for all time (current balance) and for the current week
+ * and month (points earned from event rewards and admin credits in the window).
+ * <p>
+ * Each board keeps a Fenwick tree of user counts per score bucket, so the rank of any user
+ * is one prefix sum away (O(log n)), and users grouped by score in a sorted map for top-N
+ * walks. Scores are bucketed one point per bucket; the bucket array doubles as scores grow,
+ * up to a fixed maximum, and the few users above that share the last bucket and are
+ * ranked from the sorted map instead. Users with no points are not stored and rank last.
+ * <p>
+ * Boards are rebuilt from the database on startup and periodically, and updated after
+ * every committed ledger change by {@link com.multi.loyaltybackend.service.PointsLedgerService}.
+ * Weekly and monthly boards start empty when their window rolls over. Users whose points
+ * change while a rebuild reads the database are recorded and re-read before the rebuilt
+ * boards are published, so the rebuild cannot lose those changes.
+ */
+@Slf4j
+@Component
+public class PointsLeaderboard {
+
+    private static final Set<PointsTransactionType> EARNED_TYPES =
+            EnumSet.of(PointsTransactionType.EVENT_REWARD, PointsTransactionType.ADMIN_ADJUSTMENT);
+    private static final Set<LeaderboardPeriod> WINDOWS = EnumSet.of(LeaderboardPeriod.WEEKLY, LeaderboardPeriod.MONTHLY);
+    // Unlocked re-reads of changed users before the last one runs under the write lock
+    private static final int MAX_UNLOCKED_REPAIRS = 2;
+
+    /**
+     * A user's position; users with equal scores share a rank
+     */
+    public record Ranking(long userId, int points, long rank) {
+    }
+
+    private final UserRepository userRepository;
+    private final PointsTransactionRepository pointsTransactionRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<LeaderboardPeriod, Board> boards = new EnumMap<>(LeaderboardPeriod.class);
+    private final Map<LeaderboardPeriod, LocalDateTime> windowStarts = new EnumMap<>(LeaderboardPeriod.class);
+    // Users changed since the running rebuild started reading; null when no rebuild runs
+    private Set<Long> changedDuringRebuild;
+    private final Timer rebuilds;
+
+    public PointsLeaderboard(UserRepository userRepository,
+                             PointsTransactionRepository pointsTransactionRepository,
+                             MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.pointsTransactionRepository = pointsTransactionRepository;
+        this.rebuilds = Timer.builder("leaderboard.rebuild").register(meterRegistry);
+        for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+            boards.put(period, new Board());
+            Gauge.builder("leaderboard.users", this, leaderboard -> leaderboard.rankedUsers(period))
+                    .tag("period", period.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            initialDelayString = "${app.leaderboard.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${app.leaderboard.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        rebuilds.record(() -> {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = new HashSet<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            Map<LeaderboardPeriod, Board> rebuilt = new EnumMap<>(LeaderboardPeriod.class);
+            Map<LeaderboardPeriod, LocalDateTime> starts = new EnumMap<>(LeaderboardPeriod.class);
+            for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+                LocalDateTime start = period.windowStart(now);
+                List<UserPointsDelta> totals = start == null
+                        ? userRepository.findPositiveBalances()
+                        : pointsTransactionRepository.sumEarnedByUserSince(start, EARNED_TYPES);
+                Board board = new Board();
+                totals.forEach(total -> board.set(total.getUserId(), total.getTotal()));
+                rebuilt.put(period, board);
+                starts.put(period, start);
+            }
+
+            // Changes are applied after commit, so re-reading a recorded user sees its change
+            for (int repair = 0; repair < MAX_UNLOCKED_REPAIRS; repair++) {
+                Set<Long> changed = takeChangedDuringRebuild();
+                if (changed.isEmpty()) {
+                    break;
+                }
+                reread(changed, rebuilt, starts);
+            }
+
+            lock.writeLock().lock();
+            try {
+                // Usually empty by now; re-read under the lock so nothing recorded can be missed
+                Set<Long> changed = changedDuringRebuild;
+                if (!changed.isEmpty()) {
+                    reread(changed, rebuilt, starts);
+                }
+                changedDuringRebuild = null;
+                boards.putAll(rebuilt);
+                windowStarts.putAll(starts);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("{} Points leaderboard rebuilt - all time: {}, weekly: {}, monthly: {} users",
+                    LoggingConstants.SYSTEM, rebuilt.get(LeaderboardPeriod.ALL_TIME).size(),
+                    rebuilt.get(LeaderboardPeriod.WEEKLY).size(), rebuilt.get(LeaderboardPeriod.MONTHLY).size());
+        });
+    }
+
+    private Set<Long> takeChangedDuringRebuild() {
+        lock.writeLock().lock();
+        try {
+            Set<Long> changed = changedDuringRebuild;
+            changedDuringRebuild = new HashSet<>();
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the scores of the given users on the rebuilt boards with their current ones
+     */
+    private void reread(Set<Long> userIds, Map<LeaderboardPeriod, Board> rebuilt, Map<LeaderboardPeriod, LocalDateTime> starts) {
+        for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+            LocalDateTime start = starts.get(period);
+            List<UserPointsDelta> totals = start == null
+                    ? userRepository.findBalancesByIdIn(userIds)
+                    : pointsTransactionRepository.sumEarnedByUserSince(userIds, start, EARNED_TYPES);
+            Board board = rebuilt.get(period);
+            // Users without a row (deleted, or nothing earned in the window) drop off the board
+            userIds.forEach(userId -> board.set(userId, 0));
+            totals.forEach(total -> board.set(total.getUserId(), total.getTotal()));
+        }
+    }
+
+    /**
+     * Applies a committed ledger change. Every change moves the all-time balance; positive
+     * event rewards and admin credits also count towards the current windows.
+     */
+    public void apply(long userId, int amount, PointsTransactionType type, LocalDateTime at) {
+        lock.writeLock().lock();
+        try {
+            recordChange(userId);
+            boards.get(LeaderboardPeriod.ALL_TIME).add(userId, amount);
+            if (amount > 0 && EARNED_TYPES.contains(type)) {
+                for (LeaderboardPeriod period : WINDOWS) {
+                    Board board = windowBoard(period, at);
+                    if (board != null) {
+                        board.add(userId, amount);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops a deleted user from every board
+     */
+    public void remove(long userId) {
+        lock.writeLock().lock();
+        try {
+            recordChange(userId);
+            boards.values().forEach(board -> board.set(userId, 0));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Best {@code limit} users, highest score first and by user id within a score
+     */
+    public List<Ranking> top(LeaderboardPeriod period, int limit) {
+        lock.readLock().lock();
+        try {
+            return currentBoard(period).top(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rank of a user; users without points rank after everyone with points
+     */
+    public Ranking rankOf(LeaderboardPeriod period, long userId) {
+        lock.readLock().lock();
+        try {
+            return currentBoard(period).rankOf(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of users with points in the period
+     */
+    public int rankedUsers(LeaderboardPeriod period) {
+        lock.readLock().lock();
+        try {
+            return currentBoard(period).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void recordChange(long userId) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(userId);
+        }
+    }
+
+    // Caller holds the read lock; a window that has rolled over reads as empty until its next write
+    private Board currentBoard(LeaderboardPeriod period) {
+        LocalDateTime start = period.windowStart(LocalDateTime.now());
+        return Objects.equals(start, windowStarts.get(period)) ? boards.get(period) : Board.EMPTY;
+    }
+
+    // Caller holds the write lock; returns null for a change stamped before the window rolled over
+    private Board windowBoard(LeaderboardPeriod period, LocalDateTime at) {
+        LocalDateTime start = period.windowStart(at);
+        LocalDateTime current = windowStarts.get(period);
+        if (current == null || start.isAfter(current)) {
+            boards.put(period, new Board());
+            windowStarts.put(period, start);
+            return boards.get(period);
+        }
+        return start.isBefore(current) ? null : boards.get(period);
+    }
+
+    private static final class Board {
+
+        private static final Board EMPTY = new Board();
+        private static final int INITIAL_BUCKETS = 1024;
+        private static final int MAX_BUCKETS = 1 << 20;
+
+        private final Map<Long, Integer> scores = new HashMap<>();
+        private final TreeMap<Integer, TreeSet<Long>> usersByScore = new TreeMap<>();
+        private int buckets = INITIAL_BUCKETS;
+        // 1-based Fenwick tree over bucket counts
+        private int[] tree = new int[INITIAL_BUCKETS + 1];
+
+        void add(long userId, long delta) {
+            set(userId, scores.getOrDefault(userId, 0) + delta);
+        }
+
+        void set(long userId, long points) {
+            Integer previous = scores.remove(userId);
+            if (previous != null) {
+                TreeSet<Long> users = usersByScore.get(previous);
+                users.remove(userId);
+                if (users.isEmpty()) {
+                    usersByScore.remove(previous);
+                }
+                update(bucket(previous), -1);
+            }
+            if (points <= 0) {
+                return;
+            }
+            int score = (int) Math.min(points, Integer.MAX_VALUE);
+            scores.put(userId, score);
+            usersByScore.computeIfAbsent(score, key -> new TreeSet<>()).add(userId);
+            if (score >= buckets && buckets < MAX_BUCKETS) {
+                grow(score);
+            } else {
+                update(bucket(score), 1);
+            }
+        }
+
+        int size() {
+            return scores.size();
+        }
+
+        Ranking rankOf(long userId) {
+            Integer score = scores.get(userId);
+            if (score == null) {
+                return new Ranking(userId, 0, scores.size() + 1L);
+            }
+            return new Ranking(userId, score, countAbove(score) + 1);
+        }
+
+        List<Ranking> top(int limit) {
+            List<Ranking> rankings = new ArrayList<>(Math.min(limit, scores.size()));
+            long above = 0;
+            for (Map.Entry<Integer, TreeSet<Long>> group : usersByScore.descendingMap().entrySet()) {
+                for (Long userId : group.getValue()) {
+                    if (rankings.size() >= limit) {
+                        return rankings;
+                    }
+                    rankings.add(new Ranking(userId, group.getKey(), above + 1));
+                }
+                above += group.getValue().size();
+            }
+            return rankings;
+        }
+
+        private long countAbove(int score) {
+            int bucket = bucket(score);
+            if (bucket < buckets - 1) {
+                return scores.size() - prefix(bucket);
+            }
+            // The last bucket also holds every score beyond it
+            long above = 0;
+            for (TreeSet<Long> users : usersByScore.tailMap(score, false).values()) {
+                above += users.size();
+            }
+            return above;
+        }
+
+        private int bucket(int score) {
+            return Math.min(score, buckets - 1);
+        }
+
+        private void update(int bucket, int delta) {
+            for (int i = bucket + 1; i <= buckets; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        // Number of users in buckets 0..bucket
+        private int prefix(int bucket) {
+            int sum = 0;
+            for (int i = bucket + 1; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+
+        private void grow(int score) {
+            while (buckets <= score && buckets < MAX_BUCKETS) {
+                buckets <<= 1;
+            }
+            tree = new int[buckets + 1];
+            for (Map.Entry<Integer, TreeSet<Long>> group : usersByScore.entrySet()) {
+                update(bucket(group.getKey()), group.getValue().size());
+            }
+        }
+    }
+}
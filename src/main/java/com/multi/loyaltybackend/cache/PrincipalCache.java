@@ -0,0 +1,114 @@
+package com.multi.loyaltybackend.cache;
+
+import com.multi.loyaltybackend.config.AuthenticatedUser;
+import com.multi.loyaltybackend.repository.UserRepository;
+import com.multi.loyaltybackend.service.JwtService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the principal of a verified access token.
+ * <p>
+ * Tokens carry the user id and role, so the principal is normally built from the claims
+ * without touching the database. Only tokens whose claims cannot be trusted are re-checked
+ * against the database: tokens issued before the user's email or existence last changed
+ * (see {@link #invalidate}), and older tokens without the id and role claims. Role changes
+ * revoke the user's tokens instead (see {@link TokenEpochCache}).
+ * Re-checked principals are cached per email for a short TTL, in a size-bounded map.
+ * <p>
+ * Like the other in-memory caches, invalidations are local to this instance.
+ */
+@Component
+public class PrincipalCache {
+
+    private record Entry(AuthenticatedUser principal, long loadedAt) {
+    }
+
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final long tokenLifetimeMillis;
+    // Re-checked principals by email; a null principal records a user that no longer exists
+    private final Map<String, Entry> principals = new ConcurrentHashMap<>();
+    // When each user's email or existence last changed, kept for one token lifetime
+    private final Map<Long, Instant> changedAt = new ConcurrentHashMap<>();
+
+    private final Counter fromClaims;
+    private final Counter hits;
+    private final Counter misses;
+
+    public PrincipalCache(UserRepository userRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.auth.principal-cache.ttl-ms:30000}") long ttlMillis,
+                          @Value("${app.auth.principal-cache.max-entries:10000}") int maxEntries,
+                          @Value("${jwt.expiration-ms}") long tokenLifetimeMillis) {
+        this.userRepository = userRepository;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.tokenLifetimeMillis = tokenLifetimeMillis;
+        this.fromClaims = Counter.builder("principal_cache.requests").tag("result", "claims").register(meterRegistry);
+        this.hits = Counter.builder("principal_cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("principal_cache.requests").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Returns the principal for verified claims, or null if the user no longer exists
+     */
+    public AuthenticatedUser resolve(JwtService.TokenClaims claims) {
+        if (claims.userId() != null && claims.role() != null && !isStale(claims)) {
+            fromClaims.increment();
+            return new AuthenticatedUser(claims.userId(), claims.subject(), claims.role());
+        }
+
+        Entry cached = principals.get(claims.subject());
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt() < ttlMillis) {
+            hits.increment();
+            return cached.principal();
+        }
+        misses.increment();
+
+        AuthenticatedUser principal = userRepository.findByEmail(claims.subject())
+                .map(user -> new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole()))
+                .orElse(null);
+        if (principals.size() >= maxEntries) {
+            evict();
+        }
+        principals.put(claims.subject(), new Entry(principal, System.currentTimeMillis()));
+        return principal;
+    }
+
+    /**
+     * Marks the claims of the user's existing tokens as stale after a committed change of
+     * email, or a deletion
+     */
+    public void invalidate(Long userId, String email) {
+        Instant now = Instant.now();
+        changedAt.put(userId, now);
+        principals.remove(email);
+        Instant expired = now.minusMillis(tokenLifetimeMillis);
+        changedAt.values().removeIf(changed -> changed.isBefore(expired));
+    }
+
+    private boolean isStale(JwtService.TokenClaims claims) {
+        Instant changed = changedAt.get(claims.userId());
+        // issuedAt has second precision, so a token issued in the same second is re-checked too
+        return changed != null && (claims.issuedAt() == null || !claims.issuedAt().isAfter(changed));
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        principals.values().removeIf(entry -> now - entry.loadedAt() >= ttlMillis);
+        Iterator<String> keys = principals.keySet().iterator();
+        while (principals.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
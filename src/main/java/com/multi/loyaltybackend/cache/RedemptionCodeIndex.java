@@ -0,0 +1,100 @@
+package com.multi.loyaltybackend.cache;
+
+import com.multi.loyaltybackend.config.LoggingConstants;
+import com.multi.loyaltybackend.model.VoucherStatus;
+import com.multi.loyaltybackend.repository.ActiveRedemptionCode;
+import com.multi.loyaltybackend.repository.UserVoucherRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hash index from redemption code to active user voucher, so a partner's scan can be
+ * rejected or matched without reading the database.
+ * <p>
+ * Built on startup by {@link com.multi.loyaltybackend.service.RedemptionCodeService} (which
+ * reads the database until {@link #isReady()}) and updated after each committed exchange
+ * or redemption. An entry that outlives its row
+ * (e.g. a user deletion) is harmless: the redeeming conditional update then matches no
+ * row and the entry is dropped.
+ */
+@Slf4j
+@Component
+public class RedemptionCodeIndex {
+
+    public record Entry(long userVoucherId, long voucherId, LocalDateTime expiry) {
+    }
+
+    private final UserVoucherRepository userVoucherRepository;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public RedemptionCodeIndex(UserVoucherRepository userVoucherRepository, MeterRegistry meterRegistry) {
+        this.userVoucherRepository = userVoucherRepository;
+        this.hits = Counter.builder("redemption_code_index.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("redemption_code_index.lookups").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("redemption_code_index.codes", entries, Map::size).register(meterRegistry);
+    }
+
+    public void rebuild() {
+        Map<String, Entry> loaded = new ConcurrentHashMap<>();
+        for (ActiveRedemptionCode code : userVoucherRepository.findRedemptionCodesByStatus(VoucherStatus.ACTIVE)) {
+            loaded.put(code.getCode(), new Entry(code.getUserVoucherId(), code.getVoucherId(), code.getExpiry()));
+        }
+        // Merge rather than replace, so codes added while loading are kept
+        entries.putAll(loaded);
+        ready = true;
+        log.info("{} Redemption code index built with {} active codes", LoggingConstants.SYSTEM, loaded.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the active user voucher for a normalized code, or null
+     */
+    public Entry get(String code) {
+        Entry entry = entries.get(code);
+        if (entry != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Adds the code of a committed exchange
+     */
+    public void put(String code, Entry entry) {
+        entries.put(code, entry);
+    }
+
+    /**
+     * Replaces all codes of one voucher, e.g. after its expiry changed
+     */
+    public void replaceVoucher(long voucherId, List<ActiveRedemptionCode> codes) {
+        entries.values().removeIf(entry -> entry.voucherId() == voucherId);
+        for (ActiveRedemptionCode code : codes) {
+            entries.put(code.getCode(), new Entry(code.getUserVoucherId(), code.getVoucherId(), code.getExpiry()));
+        }
+    }
+
+    /**
+     * Drops a code that is no longer redeemable
+     */
+    public void remove(String code) {
+        entries.remove(code);
+    }
+}
@@ -0,0 +1,204 @@
+package com.multi.loyaltybackend.cache;
+
+import com.multi.loyaltybackend.repository.RegistrationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-process index of the event ids each user has a registration for (any status).
+ * <p>
+ * Each user's ids are held as an immutable sorted {@code long[]} (8 bytes per id), built
+ * lazily from {@link RegistrationRepository} and replaced copy-on-write when registrations
+ * are created or deleted. Reads are lock-free; changes to one user only lock that user's
+ * map entry. Once the estimated footprint exceeds the configured memory budget, the least
+ * recently read users are evicted by whichever thread gets the eviction lock first, down
+ * to {@value #EVICT_TO_PERCENT}% of the budget so eviction does not run on every insert.
+ */
+@Component
+public class RegisteredEventIndex {
+
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+    private static final int EVICT_TO_PERCENT = 90;
+
+    private final RegistrationRepository registrationRepository;
+    private final long maxBytes;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>(256);
+    // Bumped by every change, so a load that raced with one is not cached
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public RegisteredEventIndex(RegistrationRepository registrationRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.registered-event-index.max-bytes:16777216}") long maxBytes) {
+        this.registrationRepository = registrationRepository;
+        this.maxBytes = maxBytes;
+        this.hits = Counter.builder("registered_event_index.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("registered_event_index.requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("registered_event_index.evictions").register(meterRegistry);
+        Gauge.builder("registered_event_index.users", this, index -> index.size()).register(meterRegistry);
+        Gauge.builder("registered_event_index.bytes", this, index -> index.estimatedBytes()).register(meterRegistry);
+    }
+
+    /**
+     * Returns the sorted ids of all events the user has registered for
+     */
+    public long[] getRegisteredEventIds(Long userId) {
+        Entry cached = entries.get(userId);
+        if (cached != null) {
+            cached.lastRead = System.nanoTime();
+            hits.increment();
+            return cached.ids;
+        }
+        misses.increment();
+        long stamp = generation.get();
+
+        List<Long> loaded = registrationRepository.findEventIdsByUserId(userId);
+        long[] ids = loaded.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+
+        // Changes run under the same entry's lock, so one that raced with the load is seen here
+        entries.compute(userId, (id, current) -> {
+            if (current != null || generation.get() != stamp) {
+                return current;
+            }
+            estimatedBytes.addAndGet(sizeOf(ids));
+            return new Entry(ids);
+        });
+        evictIfOverBudget();
+        return ids;
+    }
+
+    /**
+     * Records a committed registration
+     */
+    public void add(Long userId, Long eventId) {
+        update(userId, current -> {
+            int position = Arrays.binarySearch(current, eventId);
+            if (position >= 0) {
+                return current;
+            }
+            int insertAt = -position - 1;
+            long[] updated = new long[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, insertAt);
+            updated[insertAt] = eventId;
+            System.arraycopy(current, insertAt, updated, insertAt + 1, current.length - insertAt);
+            return updated;
+        });
+    }
+
+    /**
+     * Records a committed registration delete
+     */
+    public void remove(Long userId, Long eventId) {
+        update(userId, current -> {
+            int position = Arrays.binarySearch(current, eventId);
+            if (position < 0) {
+                return current;
+            }
+            long[] updated = new long[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, position);
+            System.arraycopy(current, position + 1, updated, position, current.length - position - 1);
+            return updated;
+        });
+    }
+
+    /**
+     * Drops a user's entry (e.g. after the user was deleted)
+     */
+    public void evict(Long userId) {
+        entries.compute(userId, (id, current) -> {
+            generation.incrementAndGet();
+            if (current != null) {
+                estimatedBytes.addAndGet(-sizeOf(current.ids));
+            }
+            return null;
+        });
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long estimatedBytes() {
+        return estimatedBytes.get();
+    }
+
+    private void update(Long userId, UnaryOperator<long[]> change) {
+        entries.compute(userId, (id, current) -> {
+            generation.incrementAndGet();
+            if (current == null) {
+                return null;
+            }
+            long[] updated = change.apply(current.ids);
+            if (updated != current.ids) {
+                estimatedBytes.addAndGet(sizeOf(updated) - sizeOf(current.ids));
+                current.ids = updated;
+            }
+            return current;
+        });
+        evictIfOverBudget();
+    }
+
+    /**
+     * Evicts the least recently read users until the footprint is back under the target.
+     * Threads that find eviction already running skip it rather than wait.
+     */
+    private void evictIfOverBudget() {
+        if (estimatedBytes.get() <= maxBytes || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long target = maxBytes / 100 * EVICT_TO_PERCENT;
+            if (estimatedBytes.get() <= target) {
+                return;
+            }
+            List<Map.Entry<Long, Entry>> byLastRead = new ArrayList<>(entries.entrySet());
+            byLastRead.sort(Comparator.comparingLong(entry -> entry.getValue().lastRead));
+            for (Map.Entry<Long, Entry> eldest : byLastRead) {
+                if (estimatedBytes.get() <= target) {
+                    break;
+                }
+                Entry entry = eldest.getValue();
+                if (entries.remove(eldest.getKey(), entry)) {
+                    estimatedBytes.addAndGet(-sizeOf(entry.ids));
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static long sizeOf(long[] ids) {
+        return ENTRY_OVERHEAD_BYTES + 8L * ids.length;
+    }
+
+    private static final class Entry {
+
+        // Replaced (never mutated) under the map entry's lock
+        private volatile long[] ids;
+        private volatile long lastRead = System.nanoTime();
+
+        Entry(long[] ids) {
+            this.ids = ids;
+        }
+    }
+}
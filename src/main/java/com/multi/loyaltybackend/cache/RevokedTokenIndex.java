@@ -0,0 +1,194 @@
+package com.multi.loyaltybackend.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory set of revoked access token ids, filled by
+ * {@link com.multi.loyaltybackend.service.TokenRevocationService} from the revoked_tokens table.
+ * <p>
+ * Almost every token checked is not revoked, so lookups go through a Bloom filter first:
+ * a negative answer costs a few bit tests on the id's cached hash code, and only ids that
+ * pass the filter are looked up in the map. Ids are dropped when their token expires by a
+ * timing wheel with one slot per tick, covering one token lifetime, so expiring entries
+ * never requires scanning the whole set. The Bloom filter cannot forget ids, so it is
+ * rebuilt from the live ids once more ids have expired than are still live, and grown
+ * when more ids are added than it was sized for.
+ */
+@Component
+public class RevokedTokenIndex {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final long tickMillis;
+    private final int minCapacity;
+    // Token id -> expiry in epoch milliseconds
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    // Slot (expiry tick % slots) holds the ids expiring in that tick, or a whole number of rotations later
+    private final Set<String>[] wheel;
+    private volatile BloomFilter filter;
+    // Guarded by this
+    private long lastTick;
+    private int expiredSinceRebuild;
+
+    private final Counter filtered;
+    private final Counter hits;
+    private final Counter falsePositives;
+
+    @SuppressWarnings("unchecked")
+    public RevokedTokenIndex(MeterRegistry meterRegistry,
+                             @Value("${app.auth.revocation.tick-ms:60000}") long tickMillis,
+                             @Value("${app.auth.revocation.expected-entries:10000}") int expectedEntries,
+                             @Value("${jwt.expiration-ms}") long tokenLifetimeMillis) {
+        this.tickMillis = tickMillis;
+        this.minCapacity = Math.max(expectedEntries, 64);
+        this.wheel = new Set[(int) (tokenLifetimeMillis / tickMillis) + 2];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.filter = new BloomFilter(minCapacity);
+        this.lastTick = System.currentTimeMillis() / tickMillis;
+        this.filtered = Counter.builder("token_revocation.checks").tag("result", "filtered").register(meterRegistry);
+        this.hits = Counter.builder("token_revocation.checks").tag("result", "revoked").register(meterRegistry);
+        this.falsePositives = Counter.builder("token_revocation.checks").tag("result", "false_positive").register(meterRegistry);
+        Gauge.builder("token_revocation.revoked", revoked, Map::size).register(meterRegistry);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (!filter.mightContain(tokenId)) {
+            filtered.increment();
+            return false;
+        }
+        if (revoked.containsKey(tokenId)) {
+            hits.increment();
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    /**
+     * Adds a committed revocation; ids of tokens that have already expired are ignored
+     */
+    public synchronized void add(String tokenId, Instant expiresAt) {
+        long expiry = expiresAt.toEpochMilli();
+        if (expiry <= System.currentTimeMillis() || revoked.putIfAbsent(tokenId, expiry) != null) {
+            return;
+        }
+        wheel[slot(expiry / tickMillis)].add(tokenId);
+        if (!filter.add(tokenId)) {
+            rebuildFilter();
+        }
+    }
+
+    /**
+     * Advances the wheel to the current tick, dropping the ids of expired tokens
+     *
+     * @return number of ids dropped
+     */
+    public synchronized int expire(Instant now) {
+        long nowMillis = now.toEpochMilli();
+        long currentTick = nowMillis / tickMillis;
+        // The last visited slot is visited again, as it may hold ids expiring later in that tick
+        long from = Math.max(lastTick, currentTick - wheel.length + 1);
+        int expired = 0;
+        for (long tick = from; tick <= currentTick; tick++) {
+            Iterator<String> ids = wheel[slot(tick)].iterator();
+            while (ids.hasNext()) {
+                String id = ids.next();
+                Long expiry = revoked.get(id);
+                if (expiry == null || expiry <= nowMillis) {
+                    revoked.remove(id);
+                    ids.remove();
+                    expired++;
+                }
+            }
+        }
+        lastTick = currentTick;
+        expiredSinceRebuild += expired;
+        if (expiredSinceRebuild > revoked.size()) {
+            rebuildFilter();
+        }
+        return expired;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    // Caller holds the monitor; readers keep using the old filter until the new one is published
+    private void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(minCapacity, revoked.size() * 2));
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        expiredSinceRebuild = 0;
+    }
+
+    private int slot(long tick) {
+        return (int) Math.floorMod(tick, (long) wheel.length);
+    }
+
+    private static final class BloomFilter {
+
+        private final int capacity;
+        private final int bits;
+        private final int hashes;
+        private final AtomicLongArray words;
+        // Guarded by the index monitor
+        private int inserted;
+
+        BloomFilter(int capacity) {
+            this.capacity = capacity;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2)));
+            this.bits = (int) Math.min(Integer.MAX_VALUE - 64L, Math.max(64L, optimalBits));
+            this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+            this.words = new AtomicLongArray((bits + 63) >>> 6);
+        }
+
+        boolean mightContain(String id) {
+            long hash = mix(id.hashCode());
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < hashes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns false once more ids have been added than the filter was sized for
+         */
+        boolean add(String id) {
+            long hash = mix(id.hashCode());
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < hashes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                long mask = 1L << bit;
+                words.getAndAccumulate(bit >>> 6, mask, (word, set) -> word | set);
+            }
+            return ++inserted <= capacity;
+        }
+
+        // Spreads the 32-bit String hash over 64 bits (SplitMix64 finalizer) for double hashing
+        private static long mix(int hashCode) {
+            long z = hashCode * 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
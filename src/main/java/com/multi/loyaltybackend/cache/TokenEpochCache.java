@@ -0,0 +1,134 @@
+package com.multi.loyaltybackend.cache;
+
+import com.multi.loyaltybackend.config.LoggingConstants;
+import com.multi.loyaltybackend.repository.UserRepository;
+import com.multi.loyaltybackend.repository.UserTokenVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Current access token version of the users whose version changed within the last token
+ * lifetime, so a token carrying an older version can be rejected without a lookup.
+ * <p>
+ * Users whose version changed longer ago are not kept: every token issued before that
+ * change has expired by then, and every token issued after it carries the current version.
+ * The map is loaded on startup, updated after each committed change on this instance and
+ * refreshed every sync interval with the changes made by other instances.
+ * <p>
+ * Change times are stamped by the changing instance before its transaction commits, so they
+ * are neither in commit order nor on one clock. Each refresh therefore reads back from the
+ * newest change time seen so far minus an overlap; a change is only missed by that read if
+ * clock skew between instances plus commit delay exceed the overlap. Every full sync
+ * interval the map re-reads all changes within the token lifetime, which bounds how long
+ * such a miss can last.
+ */
+@Slf4j
+@Component
+public class TokenEpochCache {
+
+    private record Epoch(int version, LocalDateTime changedAt) {
+    }
+
+    private final UserRepository userRepository;
+    private final Duration tokenLifetime;
+    private final Duration syncOverlap;
+    private final Duration fullSyncInterval;
+    private final Map<Long, Epoch> epochs = new ConcurrentHashMap<>();
+    // Newest change time read from the database, null until a change was read
+    private volatile LocalDateTime watermark;
+    private volatile LocalDateTime lastFullSync;
+
+    private final Counter rejected;
+
+    public TokenEpochCache(UserRepository userRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${jwt.expiration-ms}") long tokenLifetimeMillis,
+                           @Value("${app.auth.token-epoch.sync-overlap-ms:60000}") long syncOverlapMillis,
+                           @Value("${app.auth.token-epoch.full-sync-interval-ms:300000}") long fullSyncIntervalMillis) {
+        this.userRepository = userRepository;
+        this.tokenLifetime = Duration.ofMillis(tokenLifetimeMillis);
+        this.syncOverlap = Duration.ofMillis(syncOverlapMillis);
+        this.fullSyncInterval = Duration.ofMillis(fullSyncIntervalMillis);
+        this.rejected = Counter.builder("token_epoch.rejected").register(meterRegistry);
+        Gauge.builder("token_epoch.users", epochs, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Whether a token carrying the given version is still valid for the user. Tokens issued
+     * before versions were added carry none and count as version 0.
+     */
+    public boolean isCurrent(Long userId, Integer tokenVersion) {
+        Epoch epoch = epochs.get(userId);
+        if (epoch == null || (tokenVersion != null ? tokenVersion : 0) >= epoch.version()) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Records a committed version change
+     */
+    public void put(Long userId, int version, LocalDateTime changedAt) {
+        epochs.merge(userId, new Epoch(version, changedAt),
+                (current, changed) -> changed.version() > current.version() ? changed : current);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int loaded = fullSync();
+        log.info("{} Token epoch cache loaded with {} users", LoggingConstants.SYSTEM, loaded);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.auth.token-epoch.sync-interval-ms:10000}",
+            fixedDelayString = "${app.auth.token-epoch.sync-interval-ms:10000}")
+    public void sync() {
+        LocalDateTime fullSyncAt = lastFullSync;
+        if (fullSyncAt == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (!now.isBefore(fullSyncAt.plus(fullSyncInterval))) {
+            fullSync();
+        } else {
+            LocalDateTime newest = watermark;
+            putAll(userRepository.findTokenVersionsChangedSince(
+                    newest != null ? newest.minus(syncOverlap) : now.minus(tokenLifetime)));
+        }
+        LocalDateTime expired = now.minus(tokenLifetime);
+        epochs.values().removeIf(epoch -> epoch.changedAt().isBefore(expired));
+    }
+
+    private int fullSync() {
+        LocalDateTime now = LocalDateTime.now();
+        int read = putAll(userRepository.findTokenVersionsChangedSince(now.minus(tokenLifetime)));
+        lastFullSync = now;
+        return read;
+    }
+
+    private int putAll(List<UserTokenVersion> versions) {
+        LocalDateTime newest = watermark;
+        for (UserTokenVersion version : versions) {
+            put(version.getUserId(), version.getTokenVersion(), version.getChangedAt());
+            if (newest == null || version.getChangedAt().isAfter(newest)) {
+                newest = version.getChangedAt();
+            }
+        }
+        watermark = newest;
+        return versions.size();
+    }
+}
@@ -0,0 +1,228 @@
+package com.multi.loyaltybackend.cache;
+
+import com.multi.loyaltybackend.config.LoggingConstants;
+import com.multi.loyaltybackend.model.EventCategory;
+import com.multi.loyaltybackend.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, copy-on-write read model of upcoming events used to answer the home feed
+ * without filtering in the database.
+ * <p>
+ * Entries are kept sorted by (dateTime, id) so date ranges resolve with a binary search,
+ * and each {@link EventCategory} has a {@link BitSet} over entry positions. The snapshot is
+ * built on startup and then patched per event by {@link EventChangeListener}
+ * after each committed insert, update or delete. Readers never lock; they see either the
+ * previous or the next snapshot.
+ */
+@Slf4j
+@Component
+public class UpcomingEventSnapshot {
+
+    private static final Comparator<Entry> ORDER =
+            Comparator.comparing(Entry::dateTime).thenComparingLong(Entry::id);
+
+    public record Entry(long id, LocalDateTime dateTime, EventCategory category) {
+    }
+
+    private final EventRepository eventRepository;
+    private final boolean enabled;
+    private final Object writeLock = new Object();
+    private volatile Snapshot current;
+
+    public UpcomingEventSnapshot(EventRepository eventRepository,
+                                 @Value("${app.event-snapshot.enabled:true}") boolean enabled) {
+        this.eventRepository = eventRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (writeLock) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Entry> entries = eventRepository.findAll().stream()
+                    .filter(event -> event.getDateTime().isAfter(now))
+                    .map(event -> new Entry(event.getId(), event.getDateTime(), event.getCategory()))
+                    .toList();
+            current = Snapshot.of(entries);
+            log.info("{} Upcoming event snapshot built with {} events", LoggingConstants.SYSTEM, entries.size());
+        }
+    }
+
+    /**
+     * Whether the snapshot is enabled, has been built and can answer queries
+     */
+    public boolean isReady() {
+        return current != null;
+    }
+
+    /**
+     * Inserts or replaces a committed event; events already in the past are dropped
+     */
+    public void upsert(Entry entry) {
+        synchronized (writeLock) {
+            Snapshot snapshot = current;
+            if (snapshot == null) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            List<Entry> entries = new ArrayList<>(snapshot.entries.length + 1);
+            for (Entry existing : snapshot.entries) {
+                if (existing.id() != entry.id() && existing.dateTime().isAfter(now)) {
+                    entries.add(existing);
+                }
+            }
+            if (entry.dateTime().isAfter(now)) {
+                entries.add(entry);
+            }
+            current = Snapshot.of(entries);
+        }
+    }
+
+    /**
+     * Removes a committed event delete
+     */
+    public void remove(long eventId) {
+        synchronized (writeLock) {
+            Snapshot snapshot = current;
+            if (snapshot == null) {
+                return;
+            }
+            List<Entry> entries = Arrays.stream(snapshot.entries)
+                    .filter(existing -> existing.id() != eventId)
+                    .toList();
+            current = Snapshot.of(entries);
+        }
+    }
+
+    /**
+     * Whether the event is in the snapshot and has not started yet
+     */
+    public boolean isUpcoming(long eventId) {
+        Snapshot snapshot = current;
+        if (snapshot == null) {
+            throw new IllegalStateException("Upcoming event snapshot is not built yet");
+        }
+        LocalDateTime dateTime = snapshot.dateTimeById.get(eventId);
+        return dateTime != null && dateTime.isAfter(LocalDateTime.now());
+    }
+
+    /**
+     * Returns ids of events after now, ordered by (dateTime, id), matching the filters.
+     *
+     * @param categories  Allowed categories, or null for all
+     * @param from        Inclusive lower bound on dateTime, or null
+     * @param to          Inclusive upper bound on dateTime, or null
+     * @param excludedIds Sorted event ids to leave out
+     */
+    public List<Long> findUpcomingIds(Set<EventCategory> categories, LocalDateTime from, LocalDateTime to, long[] excludedIds) {
+        Snapshot snapshot = current;
+        if (snapshot == null) {
+            throw new IllegalStateException("Upcoming event snapshot is not built yet");
+        }
+        return snapshot.query(categories, LocalDateTime.now(), from, to, excludedIds);
+    }
+
+    private static final class Snapshot {
+
+        private final Entry[] entries;
+        private final Map<EventCategory, BitSet> byCategory;
+        private final Map<Long, LocalDateTime> dateTimeById;
+
+        private Snapshot(Entry[] entries, Map<EventCategory, BitSet> byCategory, Map<Long, LocalDateTime> dateTimeById) {
+            this.entries = entries;
+            this.byCategory = byCategory;
+            this.dateTimeById = dateTimeById;
+        }
+
+        static Snapshot of(List<Entry> source) {
+            Entry[] entries = source.toArray(Entry[]::new);
+            Arrays.sort(entries, ORDER);
+            Map<EventCategory, BitSet> byCategory = new EnumMap<>(EventCategory.class);
+            Map<Long, LocalDateTime> dateTimeById = new HashMap<>(entries.length * 2);
+            for (int i = 0; i < entries.length; i++) {
+                byCategory.computeIfAbsent(entries[i].category(), category -> new BitSet()).set(i);
+                dateTimeById.put(entries[i].id(), entries[i].dateTime());
+            }
+            return new Snapshot(entries, byCategory, dateTimeById);
+        }
+
+        List<Long> query(Set<EventCategory> categories, LocalDateTime now, LocalDateTime from, LocalDateTime to, long[] excludedIds) {
+            int start = firstAfter(now);
+            if (from != null) {
+                start = Math.max(start, firstAtOrAfter(from));
+            }
+            int end = to == null ? entries.length : firstAfter(to);
+            if (start >= end) {
+                return List.of();
+            }
+
+            BitSet candidates = new BitSet(entries.length);
+            if (categories == null) {
+                candidates.set(start, end);
+            } else {
+                for (EventCategory category : categories) {
+                    BitSet positions = byCategory.get(category);
+                    if (positions != null) {
+                        candidates.or(positions);
+                    }
+                }
+            }
+
+            List<Long> ids = new ArrayList<>();
+            for (int i = candidates.nextSetBit(start); i >= 0 && i < end; i = candidates.nextSetBit(i + 1)) {
+                long id = entries[i].id();
+                if (excludedIds == null || Arrays.binarySearch(excludedIds, id) < 0) {
+                    ids.add(id);
+                }
+            }
+            return ids;
+        }
+
+        private int firstAtOrAfter(LocalDateTime dateTime) {
+            int low = 0;
+            int high = entries.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (entries[mid].dateTime().isBefore(dateTime)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int firstAfter(LocalDateTime dateTime) {
+            int low = 0;
+            int high = entries.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (entries[mid].dateTime().isAfter(dateTime)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+    }
+}
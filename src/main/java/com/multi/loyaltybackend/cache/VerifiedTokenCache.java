@@ -0,0 +1,95 @@
+package com.multi.loyaltybackend.cache;
+
+import com.multi.loyaltybackend.service.JwtService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Claims of access tokens whose signature has already been verified, so repeated requests
+ * with the same token skip parsing and HMAC verification.
+ * <p>
+ * Entries are keyed by the SHA-256 of the whole token (signature included), so only the
+ * exact token that was verified can hit, and the token itself is never kept in memory.
+ * An entry is served until the token expires. When the cache is full, expired entries are
+ * purged first and then an arbitrary entry is evicted.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    // One digest per thread, so keying a token skips the provider lookup; digest() resets it after each use
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final int maxEntries;
+    private final Map<String, JwtService.TokenClaims> entries = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+                              @Value("${app.jwt.verified-cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("jwt_verified_cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("jwt_verified_cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("jwt_verified_cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Returns the verified claims of the token, or null if it is not cached or has expired
+     */
+    public JwtService.TokenClaims get(String token) {
+        String key = key(token);
+        JwtService.TokenClaims claims = entries.get(key);
+        if (claims != null && claims.expiresAt().isAfter(Instant.now())) {
+            hits.increment();
+            return claims;
+        }
+        if (claims != null) {
+            entries.remove(key, claims);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Caches the claims of a token whose signature and expiry have just been verified
+     */
+    public void put(String token, JwtService.TokenClaims claims) {
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.put(key(token), claims);
+    }
+
+    private void evict() {
+        Instant now = Instant.now();
+        entries.values().removeIf(claims -> !claims.expiresAt().isAfter(now));
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String key(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().withoutPadding().encodeToString(digest);
+    }
+}
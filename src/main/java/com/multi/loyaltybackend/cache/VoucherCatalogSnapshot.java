@@ -0,0 +1,148 @@
+package com.multi.loyaltybackend.cache;
+
+import com.multi.loyaltybackend.config.LoggingConstants;
+import com.multi.loyaltybackend.model.Company;
+import com.multi.loyaltybackend.model.Voucher;
+import com.multi.loyaltybackend.repository.VoucherRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the voucher catalog with company names already resolved, shared
+ * by every user. Company logos are kept as file names, since their URLs depend on the
+ * host of the request that renders them.
+ * <p>
+ * Items are sorted by voucher id so a cursor page is a binary search plus a short scan.
+ * The snapshot is built lazily and dropped by {@link #invalidate()} after any committed
+ * voucher or company change; a build that overlaps an invalidation is served once but
+ * not kept.
+ */
+@Slf4j
+@Component
+public class VoucherCatalogSnapshot {
+
+    public record Item(long id, String title, Integer points, LocalDateTime expiry, Integer stockLimit,
+                       Long companyId, String companyName, String companyLogoFileName) {
+    }
+
+    private final VoucherRepository voucherRepository;
+    private final Object lock = new Object();
+    private long generation;
+    private volatile Item[] items;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public VoucherCatalogSnapshot(VoucherRepository voucherRepository, MeterRegistry meterRegistry) {
+        this.voucherRepository = voucherRepository;
+        this.hits = Counter.builder("voucher_catalog.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("voucher_catalog.requests").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Returns up to {@code limit} unexpired vouchers with an id greater than {@code afterId},
+     * in id order, skipping the given voucher ids.
+     *
+     * @param afterId     Exclusive lower bound on the voucher id, or null for the first page
+     * @param excludedIds Sorted voucher ids to leave out
+     * @param limit       Maximum number of items
+     */
+    public List<Item> findPage(Long afterId, long[] excludedIds, int limit) {
+        Item[] catalog = current();
+        int start = afterId == null ? 0 : firstAfter(catalog, afterId);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Item> page = new ArrayList<>(Math.min(limit, catalog.length));
+        for (int i = start; i < catalog.length && page.size() < limit; i++) {
+            Item item = catalog[i];
+            if (item.expiry() != null && !item.expiry().isAfter(now)) {
+                continue;
+            }
+            if (Arrays.binarySearch(excludedIds, item.id()) >= 0) {
+                continue;
+            }
+            page.add(item);
+        }
+        return page;
+    }
+
+    /**
+     * Returns the catalog item of a voucher, or null if it is not in the catalog
+     */
+    public Item find(long id) {
+        Item[] catalog = current();
+        int index = firstAfter(catalog, id - 1);
+        return index < catalog.length && catalog[index].id() == id ? catalog[index] : null;
+    }
+
+    /**
+     * Drops the snapshot after a committed voucher or company change
+     */
+    public void invalidate() {
+        synchronized (lock) {
+            generation++;
+            items = null;
+        }
+    }
+
+    private Item[] current() {
+        Item[] catalog = items;
+        if (catalog != null) {
+            hits.increment();
+            return catalog;
+        }
+        misses.increment();
+
+        long stamp;
+        synchronized (lock) {
+            stamp = generation;
+        }
+        Item[] loaded = voucherRepository.findAllWithCompany().stream()
+                .map(VoucherCatalogSnapshot::toItem)
+                .toArray(Item[]::new);
+        synchronized (lock) {
+            // A voucher or company changed while loading; serve this build but don't keep it
+            if (generation == stamp) {
+                items = loaded;
+                log.debug("Voucher catalog snapshot built with {} vouchers", loaded.length);
+            } else {
+                log.debug("{} Discarded voucher catalog snapshot built across an invalidation", LoggingConstants.SYSTEM);
+            }
+        }
+        return loaded;
+    }
+
+    private static Item toItem(Voucher voucher) {
+        Company company = voucher.getCompany();
+        return new Item(
+                voucher.getId(),
+                voucher.getTitle(),
+                voucher.getPoints(),
+                voucher.getExpiry(),
+                voucher.getStockLimit(),
+                company.getId(),
+                company.getName(),
+                company.getLogoFileName());
+    }
+
+    private static int firstAfter(Item[] catalog, long id) {
+        int low = 0;
+        int high = catalog.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (catalog[mid].id() > id) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
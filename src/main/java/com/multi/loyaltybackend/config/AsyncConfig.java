@@ -0,0 +1,52 @@
+package com.multi.loyaltybackend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded executors for work that must stay off request threads.
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Image resizing is CPU and memory heavy, so the pool and its queue are small and
+     * fixed; when both are full, submissions are rejected rather than piling up.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor imageProcessingExecutor(
+            @Value("${app.image-processing.pool-size:2}") int poolSize,
+            @Value("${app.image-processing.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * BCrypt hashing is deliberately slow and CPU bound, so it runs on its own small pool
+     * instead of request threads; a burst of logins then queues here, bounded, while the
+     * rest of the API keeps its threads. See {@link PooledPasswordEncoder}.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${app.password-hashing.pool-size:2}") int poolSize,
+            @Value("${app.password-hashing.queue-capacity:64}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,41 @@
+package com.multi.loyaltybackend.config;
+
+import com.multi.loyaltybackend.model.Role;
+import com.multi.loyaltybackend.model.User;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Lightweight principal of a request authenticated with an access token, built from the
+ * token's claims instead of loading the {@link User} entity.
+ * {@link Authentication#getName()} returns the email, as it does for the entity.
+ */
+public record AuthenticatedUser(Long id, String email, Role role) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    /**
+     * Id of the authenticated user, for token (this principal) and admin form login ({@link User}) sessions alike
+     */
+    public static Long userId(Authentication authentication) {
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof AuthenticatedUser user) {
+            return user.id();
+        }
+        if (principal instanceof User user) {
+            return user.getId();
+        }
+        throw new IllegalStateException("Unsupported principal type: " + principal.getClass().getName());
+    }
+}
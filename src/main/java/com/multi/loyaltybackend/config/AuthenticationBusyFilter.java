@@ -0,0 +1,33 @@
+package com.multi.loyaltybackend.config;
+
+import com.multi.loyaltybackend.exception.AuthenticationBusyException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Form login only handles {@link org.springframework.security.core.AuthenticationException},
+ * so a saturated hashing pool would otherwise surface as a 500. Sends the user back to the
+ * login page with a busy notice instead.
+ */
+@Slf4j
+public class AuthenticationBusyFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response, @NotNull FilterChain filterChain) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } catch (AuthenticationBusyException e) {
+            log.warn("{} Form login rejected - {}", LoggingConstants.ADMIN_PANEL, e.getMessage());
+            if (!response.isCommitted()) {
+                response.sendRedirect(request.getContextPath() + "/login?busy");
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.multi.loyaltybackend.config;
+
+import com.multi.loyaltybackend.exception.AuthenticationBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a password encoder on the bounded password hashing pool, so BCrypt work from
+ * logins, registrations and password changes cannot occupy every request thread.
+ * <p>
+ * The calling thread waits for the result. When the pool and its queue are full, or the
+ * result is not ready within the timeout, the call fails fast with
+ * {@link AuthenticationBusyException} (429) instead of queueing without bound. Hashing
+ * time, queue wait and rejections are recorded as metrics.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration timeout;
+
+    private final Timer encodes;
+    private final Timer matches;
+    private final Timer queueWaits;
+    private final Counter rejected;
+    private final Counter timedOut;
+
+    public PooledPasswordEncoder(PasswordEncoder delegate,
+                                 ThreadPoolTaskExecutor executor,
+                                 MeterRegistry meterRegistry,
+                                 Duration timeout) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.timeout = timeout;
+        this.encodes = Timer.builder("password_hashing.duration").tag("operation", "encode").register(meterRegistry);
+        this.matches = Timer.builder("password_hashing.duration").tag("operation", "matches").register(meterRegistry);
+        this.queueWaits = Timer.builder("password_hashing.queue_wait").register(meterRegistry);
+        this.rejected = Counter.builder("password_hashing.rejected").tag("reason", "saturated").register(meterRegistry);
+        this.timedOut = Counter.builder("password_hashing.rejected").tag("reason", "timeout").register(meterRegistry);
+        Gauge.builder("password_hashing.queued", executor, pool -> pool.getThreadPoolExecutor().getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("password_hashing.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(encodes, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matches, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only inspects the hash prefix, so it stays on the calling thread
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Timer timer, Supplier<T> hashing) {
+        long submittedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                queueWaits.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return timer.record(hashing);
+            });
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            throw new AuthenticationBusyException("Too many authentication requests are being processed", e);
+        }
+
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            timedOut.increment();
+            throw new AuthenticationBusyException("Authentication request timed out waiting for password hashing", e);
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.multi.loyaltybackend.config;
 
+import com.multi.loyaltybackend.exception.AuthenticationBusyException;
 import com.multi.loyaltybackend.repository.UserRepository;
 import com.multi.loyaltybackend.service.CustomOAuth2UserService;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,6 +13,7 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -23,11 +27,14 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -50,7 +57,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider) throws Exception {
         http
                 .cors(Customizer.withDefaults())
                 .csrf(AbstractHttpConfigurer::disable)
@@ -81,6 +88,7 @@ public class SecurityConfig {
                 .formLogin(form -> form
                         .loginPage("/login")
                         .defaultSuccessUrl("/admin", true)
+                        .failureHandler(formLoginFailureHandler())
                         .permitAll()
                 )
                 .logout(logout -> logout
@@ -88,7 +96,7 @@ public class SecurityConfig {
                         .logoutSuccessUrl("/login?logout")
                         .permitAll()
                 )
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
                 .oauth2Login(oauth -> oauth
                         .defaultSuccessUrl("/api/auth/oauth2/success", true)
                         .failureUrl("/api/auth/oauth2/failure")
@@ -109,16 +117,29 @@ public class SecurityConfig {
                             }
                         })
                 )
+                .addFilterBefore(new AuthenticationBusyFilter(), UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
+    /**
+     * For unknown emails the provider hashes while loading the user and wraps a saturated
+     * hashing pool as an authentication failure; those get the busy notice, not "invalid password"
+     */
+    private static AuthenticationFailureHandler formLoginFailureHandler() {
+        AuthenticationFailureHandler busy = new SimpleUrlAuthenticationFailureHandler("/login?busy");
+        AuthenticationFailureHandler failed = new SimpleUrlAuthenticationFailureHandler("/login?error");
+        return (request, response, exception) ->
+                (exception.getCause() instanceof AuthenticationBusyException ? busy : failed)
+                        .onAuthenticationFailure(request, response, exception);
+    }
+
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
@@ -134,8 +155,11 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Qualifier("passwordHashingExecutor") ThreadPoolTaskExecutor passwordHashingExecutor,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${app.password-hashing.timeout-ms:5000}") long timeoutMs) {
+        return new PooledPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingExecutor, meterRegistry,
+                Duration.ofMillis(timeoutMs));
     }
 
 
@@ -1,7 +1,10 @@
 package com.multi.loyaltybackend.controller;
 
+import com.multi.loyaltybackend.config.LoggingConstants;
 import com.multi.loyaltybackend.dto.*;
+import com.multi.loyaltybackend.dto.response.EventCompletionResponse;
 import com.multi.loyaltybackend.service.AdminService;
+import com.multi.loyaltybackend.service.EventCompletionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -17,6 +20,7 @@ import java.util.List;
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminController {
     private final AdminService adminService;
+    private final EventCompletionService eventCompletionService;
 
     /**
      * Get dashboard statistics
@@ -102,6 +106,22 @@ public class AdminController {
         );
     }
 
+    /**
+     * Complete all REGISTERED registrations of an event that has taken place and award its points
+     * POST /api/admin/events/{id}/complete
+     */
+    @PostMapping("/events/{id}/complete")
+    public ResponseEntity<ApiResponse<EventCompletionResponse>> completeEvent(@PathVariable Long id) {
+        EventCompletionResponse result = eventCompletionService.completeEvent(id, LoggingConstants.API);
+        return ResponseEntity.ok(
+                ApiResponse.<EventCompletionResponse>builder()
+                        .success(true)
+                        .message("Event completed successfully")
+                        .data(result)
+                        .build()
+        );
+    }
+
     /**
      * Delete user
      * DELETE /api/admin/users/{id}
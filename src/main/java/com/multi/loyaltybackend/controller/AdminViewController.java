@@ -4,6 +4,7 @@ import com.multi.loyaltybackend.dto.CompanyFilterDTO;
 import com.multi.loyaltybackend.dto.CompanyResponseDTO;
 import com.multi.loyaltybackend.model.Company;
 import com.multi.loyaltybackend.service.CompanyService;
+import com.multi.loyaltybackend.config.AuthenticatedUser;
 import com.multi.loyaltybackend.config.LoggingConstants;
 import com.multi.loyaltybackend.dto.*;
 import com.multi.loyaltybackend.faq.dto.FAQFilterDTO;
@@ -12,7 +13,11 @@ import com.multi.loyaltybackend.faq.dto.FAQResponseDTO;
 import com.multi.loyaltybackend.faq.service.FAQService;
 import com.multi.loyaltybackend.model.*;
 import com.multi.loyaltybackend.repository.EventRepository;
+import com.multi.loyaltybackend.repository.UserRepository;
 import com.multi.loyaltybackend.service.AdminService;
+import com.multi.loyaltybackend.dto.response.EventCompletionResponse;
+import com.multi.loyaltybackend.service.EventCompletionService;
+import com.multi.loyaltybackend.service.EventImageService;
 import com.multi.loyaltybackend.service.EventService;
 import com.multi.loyaltybackend.service.ImageStorageService;
 import com.multi.loyaltybackend.service.RegistrationManagementService;
@@ -33,7 +38,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -41,6 +46,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.util.List;
+
 @Slf4j
 @Controller
 @RequestMapping("/admin")
@@ -52,8 +59,11 @@ public class AdminViewController {
     private final CompanyService companyService;
     private final VoucherService voucherService;
     private final EventService eventService;
+    private final EventCompletionService eventCompletionService;
     private final EventRepository eventRepository;
+    private final UserRepository userRepository;
     private final ImageStorageService imageStorageService;
+    private final EventImageService eventImageService;
     private final RegistrationManagementService registrationManagementService;
     private final FAQService faqService;
     private final SupportMessageService supportMessageService;
@@ -191,7 +201,8 @@ public class AdminViewController {
                     voucherForm.getDescription(),
                     voucherForm.getPoints(),
                     voucherForm.getExpiry(),
-                    voucherForm.getCompanyId()
+                    voucherForm.getCompanyId(),
+                    voucherForm.getStockLimit()
             );
             voucherService.createVoucher(voucherRequest);
             redirectAttributes.addFlashAttribute("successMessage", "Voucher created successfully!");
@@ -213,6 +224,7 @@ public class AdminViewController {
                             .points(voucher.getPoints())
                             .expiry(voucher.getExpiry())
                             .companyId(voucher.getCompanyId())
+                            .stockLimit(voucher.getStockLimit())
                             .build();
                     model.addAttribute("voucher", formDTO);
                     model.addAttribute("companies", companyService.getAllCompanies());
@@ -232,6 +244,7 @@ public class AdminViewController {
             voucher.setTitle(voucherForm.getTitle());
             voucher.setPoints(voucherForm.getPoints());
             voucher.setExpiry(voucherForm.getExpiry());
+            voucher.setStockLimit(voucherForm.getStockLimit());
             CompanyResponseDTO company = companyService.getCompanyById(voucherForm.getCompanyId())
                     .orElseThrow(
                             () -> new RuntimeException("Company not found with ID: " + voucherForm.getCompanyId()
@@ -290,6 +303,7 @@ public class AdminViewController {
     @GetMapping("/users/new")
     public String newUserForm(Model model) {
         model.addAttribute("user", new UserFormDTO());
+        model.addAttribute("companies", companyService.getAllCompanies());
         return "admin/users/form";
     }
 
@@ -308,6 +322,7 @@ public class AdminViewController {
         // Check for validation errors
         if (bindingResult.hasErrors()) {
             model.addAttribute("user", userForm);
+            model.addAttribute("companies", companyService.getAllCompanies());
             model.addAttribute("errorMessage", "Please correct the validation errors.");
             return "admin/users/form";
         }
@@ -318,6 +333,7 @@ public class AdminViewController {
             return "redirect:/admin/users";
         } catch (Exception e) {
             model.addAttribute("user", userForm);
+            model.addAttribute("companies", companyService.getAllCompanies());
             model.addAttribute("errorMessage", "Error creating user: " + e.getMessage());
             return "admin/users/form";
         }
@@ -326,9 +342,8 @@ public class AdminViewController {
     @GetMapping("/users/edit/{id}")
     public String editUserForm(@PathVariable Long id, Model model) {
         try {
-            User user = adminService.getUserById(id) != null
-                    ? convertToUser(adminService.getUserById(id))
-                    : null;
+            UserManagementDTO userDTO = adminService.getUserById(id);
+            User user = userDTO != null ? convertToUser(userDTO) : null;
             if (user == null) {
                 model.addAttribute("errorMessage", "User not found");
                 return "admin/users/list";
@@ -344,8 +359,10 @@ public class AdminViewController {
                     .workingHours(user.getWorkingHours())
                     .aboutMe(user.getAboutMe())
                     .role(user.getRole())
+                    .companyId(userDTO.getCompanyId())
                     .build();
             model.addAttribute("user", formDTO);
+            model.addAttribute("companies", companyService.getAllCompanies());
         } catch (Exception e) {
             model.addAttribute("errorMessage", "Error loading user: " + e.getMessage());
         }
@@ -364,6 +381,7 @@ public class AdminViewController {
             // Stay on the same page and show validation errors
             userForm.setId(id); // Ensure ID is set for the form
             model.addAttribute("user", userForm);
+            model.addAttribute("companies", companyService.getAllCompanies());
             model.addAttribute("errorMessage", "Please correct the validation errors.");
             return "admin/users/form";
         }
@@ -376,6 +394,7 @@ public class AdminViewController {
             e.printStackTrace();
             userForm.setId(id); // Ensure ID is set for the form
             model.addAttribute("user", userForm);
+            model.addAttribute("companies", companyService.getAllCompanies());
             model.addAttribute("errorMessage", "Error updating user: " + e.getMessage());
             return "admin/users/form";
         }
@@ -467,13 +486,13 @@ public class AdminViewController {
                     .points(eventForm.getPoints() != null ? eventForm.getPoints() : 0)
                     .build();
 
-            // Handle image upload
+            // Handle image upload; resized variants are generated in the background
             if (imageFile != null && !imageFile.isEmpty()) {
-                String fileName = imageStorageService.storeFile(imageFile);
-                event.setFileName(fileName);
+                eventImageService.replaceCover(event, imageFile);
             }
 
             eventRepository.save(event);
+            eventImageService.scheduleVariants(event);
 
             log.info("{} Successfully created Event ID={} - Title: {}",
                     LoggingConstants.ADMIN_PANEL, event.getId(), event.getTitle());
@@ -554,18 +573,14 @@ public class AdminViewController {
             event.setDateTime(eventForm.getDateTime());
             event.setPoints(eventForm.getPoints() != null ? eventForm.getPoints() : 0);
 
-            // Handle image upload
-            if (imageFile != null && !imageFile.isEmpty()) {
-                // Delete old image if exists
-                if (event.getFileName() != null) {
-                    imageStorageService.deleteFile(event.getFileName());
-                }
-                // Save new image
-                String fileName = imageStorageService.storeFile(imageFile);
-                event.setFileName(fileName);
-            }
+            // Handle image upload; replaces the old image and its variants
+            boolean coverReplaced = imageFile != null && !imageFile.isEmpty();
+            List<String> previousCover = coverReplaced ? eventImageService.replaceCover(event, imageFile) : List.of();
 
             eventRepository.save(event);
+            if (coverReplaced) {
+                eventImageService.coverReplaced(event, previousCover);
+            }
 
             log.info("{} Successfully updated Event ID={} - Title: {}",
                     LoggingConstants.ADMIN_PANEL, event.getId(), event.getTitle());
@@ -582,6 +597,18 @@ public class AdminViewController {
         }
     }
 
+    @PostMapping("/events/complete/{id}")
+    public String completeEvent(@PathVariable Long id, RedirectAttributes redirectAttributes) {
+        try {
+            EventCompletionResponse result = eventCompletionService.completeEvent(id, LoggingConstants.ADMIN_PANEL);
+            redirectAttributes.addFlashAttribute("successMessage", String.format(
+                    "Event completed: %d registrations, %d points awarded", result.completed(), result.pointsAwarded()));
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Error completing event: " + e.getMessage());
+        }
+        return "redirect:/admin/events";
+    }
+
     @PostMapping("/events/delete/{id}")
     public String deleteEvent(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         try {
@@ -921,12 +948,12 @@ public class AdminViewController {
             @PathVariable Long id,
             @RequestParam String response,
             @RequestParam SupportMessageStatus status,
-            @AuthenticationPrincipal User admin,
+            Authentication authentication,
             RedirectAttributes redirectAttributes) {
         log.info("{} - Responding to Support Message ID: {}", LoggingConstants.ADMIN_PANEL, id);
         try {
             RespondToSupportMessageRequest request = new RespondToSupportMessageRequest(response, status);
-            supportMessageService.respondToMessage(id, request, admin);
+            supportMessageService.respondToMessage(id, request, currentAdmin(authentication));
             redirectAttributes.addFlashAttribute("successMessage", "Response sent successfully!");
         } catch (Exception e) {
             log.error("{} - Error responding to support message: {}", LoggingConstants.ADMIN_PANEL, e.getMessage());
@@ -939,11 +966,11 @@ public class AdminViewController {
     public String updateSupportMessageStatus(
             @PathVariable Long id,
             @RequestParam SupportMessageStatus status,
-            @AuthenticationPrincipal User admin,
+            Authentication authentication,
             RedirectAttributes redirectAttributes) {
         log.info("{} - Updating Support Message ID: {} to status: {}", LoggingConstants.ADMIN_PANEL, id, status);
         try {
-            supportMessageService.updateMessageStatus(id, status, admin);
+            supportMessageService.updateMessageStatus(id, status, currentAdmin(authentication));
             redirectAttributes.addFlashAttribute("successMessage", "Message status updated successfully!");
         } catch (Exception e) {
             log.error("{} - Error updating support message status: {}", LoggingConstants.ADMIN_PANEL, e.getMessage());
@@ -951,4 +978,8 @@ public class AdminViewController {
         }
         return "redirect:/admin/support/messages";
     }
+
+    private User currentAdmin(Authentication authentication) {
+        return userRepository.getReferenceById(AuthenticatedUser.userId(authentication));
+    }
 }
@@ -3,6 +3,7 @@ package com.multi.loyaltybackend.controller;
 import java.util.List;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.multi.loyaltybackend.cache.CompanyCatalogCache;
 import com.multi.loyaltybackend.dto.CompanyResponseDTO;
 import com.multi.loyaltybackend.service.CompanyService;
 import com.multi.loyaltybackend.model.Company;
@@ -11,6 +12,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import lombok.RequiredArgsConstructor;
 
@@ -21,8 +23,12 @@ public class CompanyController {
     private final CompanyService companyService;
 
     @GetMapping
-    public ResponseEntity<List<CompanyResponseDTO>> getAllCompanies() {
-        return ResponseEntity.ok(companyService.getAllCompanies());
+    public ResponseEntity<List<CompanyResponseDTO>> getAllCompanies(WebRequest webRequest) {
+        CompanyCatalogCache.Snapshot catalog = companyService.getCompanyCatalog();
+        if (webRequest.checkNotModified(catalog.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(catalog.etag()).body(catalog.companies());
     }
 
     @GetMapping("/{id}")
@@ -1,8 +1,12 @@
 package com.multi.loyaltybackend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.multi.loyaltybackend.cache.EventDetailCache;
+import com.multi.loyaltybackend.dto.CursorPageResponse;
 import com.multi.loyaltybackend.dto.EventRequestDTO;
 import com.multi.loyaltybackend.dto.EventResponseDTO;
+import com.multi.loyaltybackend.dto.NearbyEventResponseDTO;
+import com.multi.loyaltybackend.dto.UserDTO;
 import com.multi.loyaltybackend.model.EventCategory;
 import com.multi.loyaltybackend.service.EventService;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +18,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
@@ -58,10 +63,23 @@ public class EventController {
         }
     }
 
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyEventResponseDTO>> getNearbyEvents(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(eventService.getNearbyEvents(lat, lng, radiusKm, limit));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<EventResponseDTO> getEventById(@PathVariable Long id) {
-        EventResponseDTO response = eventService.getEventById(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<EventResponseDTO> getEventById(@PathVariable Long id, WebRequest webRequest) {
+        EventDetailCache.Entry detail = eventService.getEventDetail(id);
+        if (webRequest.checkNotModified(detail.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(detail.etag()).body(detail.response());
     }
 
     @GetMapping
@@ -76,6 +94,32 @@ public class EventController {
         return ResponseEntity.ok(eventService.getAllEvents(authentication.getName(), search, categories, startDate, endDate, pageable));
     }
 
+    /**
+     * Cursor mode of the feed, selected by the presence of the {@code cursor} parameter
+     * (pass an empty value for the first page). Skips the total count query.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageResponse<EventResponseDTO>> getEventFeed(
+            Authentication authentication,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) List<String> categories,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(eventService.getEventFeed(authentication.getName(), search, categories, startDate, endDate, cursor, size));
+    }
+
+    @GetMapping("/{id}/attendees")
+    public ResponseEntity<Page<UserDTO>> getAttendees(
+            @PathVariable Long id,
+            @RequestParam(required = false) String status,
+            Pageable pageable
+    ) {
+        return ResponseEntity.ok(eventService.getAttendees(id, status, pageable));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteEvent(@PathVariable Long id) {
         eventService.deleteEvent(id);
@@ -0,0 +1,34 @@
+package com.multi.loyaltybackend.controller;
+
+import com.multi.loyaltybackend.dto.response.LeaderboardRankResponse;
+import com.multi.loyaltybackend.dto.response.LeaderboardResponse;
+import com.multi.loyaltybackend.model.LeaderboardPeriod;
+import com.multi.loyaltybackend.service.LeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+@RequiredArgsConstructor
+public class LeaderboardController {
+    private final LeaderboardService leaderboardService;
+
+    @GetMapping
+    public ResponseEntity<LeaderboardResponse> getLeaderboard(
+            @RequestParam(defaultValue = "ALL_TIME") LeaderboardPeriod period,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(leaderboardService.getTop(period, limit));
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<LeaderboardRankResponse> getMyRank(
+            Authentication authentication,
+            @RequestParam(defaultValue = "ALL_TIME") LeaderboardPeriod period) {
+        return ResponseEntity.ok(leaderboardService.getRank(authentication.getName(), period));
+    }
+}
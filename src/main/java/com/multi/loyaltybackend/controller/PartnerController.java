@@ -0,0 +1,36 @@
+package com.multi.loyaltybackend.controller;
+
+import com.multi.loyaltybackend.dto.request.RedemptionCodeRequest;
+import com.multi.loyaltybackend.dto.response.VoucherRedemptionResponse;
+import com.multi.loyaltybackend.model.Role;
+import com.multi.loyaltybackend.service.RedemptionCodeService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Endpoints used by partner cashiers at the point of sale
+ */
+@RestController
+@RequestMapping("/api/partner")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('PARTNER', 'ADMIN')")
+public class PartnerController {
+    private final RedemptionCodeService redemptionCodeService;
+
+    @PostMapping("/vouchers/redeem")
+    public ResponseEntity<VoucherRedemptionResponse> redeemByCode(Authentication authentication,
+                                                                  @Valid @RequestBody RedemptionCodeRequest request) {
+        // Admins redeem for any company, partners only for the company they are linked to
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_" + Role.ADMIN.name()));
+        Long companyId = admin ? null : redemptionCodeService.findPartnerCompanyId(authentication.getName());
+        return ResponseEntity.ok(redemptionCodeService.redeemByCode(request.code(), companyId));
+    }
+}
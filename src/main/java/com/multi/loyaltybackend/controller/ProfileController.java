@@ -6,6 +6,7 @@ import com.multi.loyaltybackend.dto.request.ProfileUpdateRequest;
 import com.multi.loyaltybackend.service.ProfileService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -51,6 +52,11 @@ public class ProfileController {
         return ResponseEntity.ok(userEvents);
     }
 
+    @GetMapping("/points/transactions")
+    public ResponseEntity<PointsStatementResponse> getPointsStatement(Authentication authentication, Pageable pageable) {
+        return ResponseEntity.ok(profileService.getPointsStatement(authentication.getName(), pageable));
+    }
+
     @GetMapping("/vouchers")
     public ResponseEntity<UserVouchersWithPointsResponse> getVouchers(Authentication authentication) {
         UserVouchersWithPointsResponse userVouchers = profileService.getUserVouchers(authentication.getName());
@@ -1,10 +1,12 @@
 package com.multi.loyaltybackend.controller;
 
+import com.multi.loyaltybackend.config.AuthenticatedUser;
 import com.multi.loyaltybackend.dto.CreateSupportMessageRequest;
 import com.multi.loyaltybackend.dto.RespondToSupportMessageRequest;
 import com.multi.loyaltybackend.dto.SupportMessageResponse;
 import com.multi.loyaltybackend.model.SupportMessageStatus;
 import com.multi.loyaltybackend.model.User;
+import com.multi.loyaltybackend.repository.UserRepository;
 import com.multi.loyaltybackend.service.SupportMessageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -15,7 +17,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -28,6 +30,7 @@ import java.util.Map;
 public class SupportMessageController {
 
     private final SupportMessageService supportMessageService;
+    private final UserRepository userRepository;
 
     // ==================== USER ENDPOINTS ====================
 
@@ -35,8 +38,8 @@ public class SupportMessageController {
     @Operation(summary = "Create a support message", description = "User can create a new support message")
     public ResponseEntity<SupportMessageResponse> createMessage(
             @Valid @RequestBody CreateSupportMessageRequest request,
-            @AuthenticationPrincipal User user) {
-        SupportMessageResponse response = supportMessageService.createMessage(request, user);
+            Authentication authentication) {
+        SupportMessageResponse response = supportMessageService.createMessage(request, currentUser(authentication));
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -45,8 +48,8 @@ public class SupportMessageController {
     public ResponseEntity<Page<SupportMessageResponse>> getUserMessages(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @AuthenticationPrincipal User user) {
-        Page<SupportMessageResponse> messages = supportMessageService.getUserMessages(user, page, size);
+            Authentication authentication) {
+        Page<SupportMessageResponse> messages = supportMessageService.getUserMessages(currentUser(authentication), page, size);
         return ResponseEntity.ok(messages);
     }
 
@@ -54,8 +57,8 @@ public class SupportMessageController {
     @Operation(summary = "Get support message by ID", description = "User can view their specific support message")
     public ResponseEntity<SupportMessageResponse> getMessageById(
             @PathVariable Long id,
-            @AuthenticationPrincipal User user) {
-        SupportMessageResponse message = supportMessageService.getMessageById(id, user);
+            Authentication authentication) {
+        SupportMessageResponse message = supportMessageService.getMessageById(id, currentUser(authentication));
         return ResponseEntity.ok(message);
     }
 
@@ -77,8 +80,8 @@ public class SupportMessageController {
     @Operation(summary = "Get support message by ID (Admin)", description = "Admin can view any support message")
     public ResponseEntity<SupportMessageResponse> getMessageByIdAdmin(
             @PathVariable Long id,
-            @AuthenticationPrincipal User admin) {
-        SupportMessageResponse message = supportMessageService.getMessageById(id, admin);
+            Authentication authentication) {
+        SupportMessageResponse message = supportMessageService.getMessageById(id, currentUser(authentication));
         return ResponseEntity.ok(message);
     }
 
@@ -88,8 +91,8 @@ public class SupportMessageController {
     public ResponseEntity<SupportMessageResponse> respondToMessage(
             @PathVariable Long id,
             @Valid @RequestBody RespondToSupportMessageRequest request,
-            @AuthenticationPrincipal User admin) {
-        SupportMessageResponse response = supportMessageService.respondToMessage(id, request, admin);
+            Authentication authentication) {
+        SupportMessageResponse response = supportMessageService.respondToMessage(id, request, currentUser(authentication));
         return ResponseEntity.ok(response);
     }
 
@@ -99,8 +102,8 @@ public class SupportMessageController {
     public ResponseEntity<SupportMessageResponse> updateMessageStatus(
             @PathVariable Long id,
             @RequestParam SupportMessageStatus status,
-            @AuthenticationPrincipal User admin) {
-        SupportMessageResponse response = supportMessageService.updateMessageStatus(id, status, admin);
+            Authentication authentication) {
+        SupportMessageResponse response = supportMessageService.updateMessageStatus(id, status, currentUser(authentication));
         return ResponseEntity.ok(response);
     }
 
@@ -115,4 +118,11 @@ public class SupportMessageController {
         statistics.put("closed", supportMessageService.countMessagesByStatus(SupportMessageStatus.CLOSED));
         return ResponseEntity.ok(statistics);
     }
+
+    /**
+     * Reference to the authenticated user; the principal carries only the id, so no user row is loaded here
+     */
+    private User currentUser(Authentication authentication) {
+        return userRepository.getReferenceById(AuthenticatedUser.userId(authentication));
+    }
 }
@@ -1,10 +1,14 @@
 package com.multi.loyaltybackend.controller;
 
+import com.multi.loyaltybackend.dto.CursorPageResponse;
+import com.multi.loyaltybackend.dto.request.UserVoucherBatchRequest;
 import com.multi.loyaltybackend.dto.request.UserVoucherRequest;
+import com.multi.loyaltybackend.dto.response.VoucherBatchResponse;
 import com.multi.loyaltybackend.dto.VoucherRequest;
 import com.multi.loyaltybackend.dto.VoucherWithCompanyDTO;
 import com.multi.loyaltybackend.model.UserVoucher;
 import com.multi.loyaltybackend.model.Voucher;
+import com.multi.loyaltybackend.service.VoucherBatchService;
 import com.multi.loyaltybackend.service.VoucherService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -21,12 +25,25 @@ import java.util.List;
 @RequiredArgsConstructor
 public class VoucherController {
     private final VoucherService voucherService;
+    private final VoucherBatchService voucherBatchService;
 
     @GetMapping
     public ResponseEntity<List<VoucherWithCompanyDTO>> getAllVouchers(Authentication authentication) {
         return ResponseEntity.ok(voucherService.getAllVouchers(authentication.getName()));
     }
 
+    /**
+     * Keyset-paginated vouchers the caller can still exchange. Pass {@code nextCursor}
+     * from the previous page as {@code cursor}; omit it for the first page.
+     */
+    @GetMapping("/available")
+    public ResponseEntity<CursorPageResponse<VoucherWithCompanyDTO>> getAvailableVouchers(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(voucherService.getAvailableVouchers(authentication.getName(), cursor, size));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<VoucherWithCompanyDTO> getVoucherById(@PathVariable Long id) {
         return voucherService.getVoucherById(id)
@@ -70,4 +87,20 @@ public class VoucherController {
         voucherService.redeemVoucher(authentication.getName(), request.voucherId());
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Exchanges up to 50 vouchers in one request and reports the outcome per voucher
+     */
+    @PostMapping("/exchange/batch")
+    public ResponseEntity<VoucherBatchResponse> exchangeVouchers(Authentication authentication, @Valid @RequestBody UserVoucherBatchRequest request) {
+        return ResponseEntity.ok(voucherBatchService.exchangeVouchers(authentication.getName(), request.voucherIds()));
+    }
+
+    /**
+     * Redeems up to 50 vouchers in one request and reports the outcome per voucher
+     */
+    @PostMapping("/redeem/batch")
+    public ResponseEntity<VoucherBatchResponse> redeemVouchers(Authentication authentication, @Valid @RequestBody UserVoucherBatchRequest request) {
+        return ResponseEntity.ok(voucherBatchService.redeemVouchers(authentication.getName(), request.voucherIds()));
+    }
 }
@@ -0,0 +1,10 @@
+package com.multi.loyaltybackend.dto;
+
+import java.util.List;
+
+/**
+ * Cursor-paginated response. {@code nextCursor} is an opaque token to pass back as
+ * {@code cursor} to fetch the following page, or null when there are no more items.
+ */
+public record CursorPageResponse<T>(List<T> content, String nextCursor, int size, boolean hasNext) {
+}
@@ -0,0 +1,4 @@
+package com.multi.loyaltybackend.dto;
+
+public record NearbyEventResponseDTO(EventResponseDTO event, double distanceKm) {
+}
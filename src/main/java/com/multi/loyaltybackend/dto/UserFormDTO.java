@@ -37,4 +37,5 @@ public class UserFormDTO {
     @Size(max = 2000, message = "About me cannot exceed 2000 characters")
     private String aboutMe;
     private Role role;
+    private Long companyId;
 }
@@ -25,4 +25,5 @@ public class UserManagementDTO {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String aboutMe;
+    private Long companyId;
 }
@@ -18,4 +18,5 @@ public class VoucherFormDTO {
     private Integer points;
     private LocalDateTime expiry;
     private Long companyId;
+    private Integer stockLimit;
 }
@@ -30,4 +30,7 @@ public class VoucherRequest {
     @NotNull(message = "Company ID is required")
     @Positive(message = "Company ID must be positive")
     private Long companyId;
+
+    @Positive(message = "Stock limit must be positive")
+    private Integer stockLimit;
 }
\ No newline at end of file
@@ -20,4 +20,6 @@ public class VoucherWithCompanyDTO {
     private Long companyId;
     private String companyName;
     private String companyLogo;
+    private Integer stockLimit;
+    private Integer remainingStock;
 }
\ No newline at end of file
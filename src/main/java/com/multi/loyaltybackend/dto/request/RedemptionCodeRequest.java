@@ -0,0 +1,9 @@
+package com.multi.loyaltybackend.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RedemptionCodeRequest(
+        @NotBlank(message = "გამოსყიდვის კოდი აუცილებელია")
+        String code
+) {
+}
@@ -0,0 +1,14 @@
+package com.multi.loyaltybackend.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record UserVoucherBatchRequest(
+        @NotEmpty(message = "ვაუჩერების სია აუცილებელია")
+        @Size(max = 50, message = "ერთ მოთხოვნაში მაქსიმუმ 50 ვაუჩერია დაშვებული")
+        List<@NotNull(message = "ვაუჩერის ID აუცილებელია") Long> voucherIds
+) {
+}
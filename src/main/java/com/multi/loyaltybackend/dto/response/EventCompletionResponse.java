@@ -0,0 +1,9 @@
+package com.multi.loyaltybackend.dto.response;
+
+public record EventCompletionResponse(
+        Long eventId,
+        int completed,
+        int pointsPerUser,
+        long pointsAwarded
+) {
+}
@@ -0,0 +1,9 @@
+package com.multi.loyaltybackend.dto.response;
+
+public record LeaderboardEntryResponse(
+        long rank,
+        Long userId,
+        String fullName,
+        int points
+) {
+}
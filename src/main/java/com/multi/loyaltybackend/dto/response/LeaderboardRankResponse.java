@@ -0,0 +1,14 @@
+package com.multi.loyaltybackend.dto.response;
+
+import com.multi.loyaltybackend.model.LeaderboardPeriod;
+
+import java.time.LocalDateTime;
+
+public record LeaderboardRankResponse(
+        LeaderboardPeriod period,
+        LocalDateTime windowStart,
+        long rank,
+        int points,
+        int rankedUsers
+) {
+}
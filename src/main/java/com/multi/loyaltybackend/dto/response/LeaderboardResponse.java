@@ -0,0 +1,14 @@
+package com.multi.loyaltybackend.dto.response;
+
+import com.multi.loyaltybackend.model.LeaderboardPeriod;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record LeaderboardResponse(
+        LeaderboardPeriod period,
+        LocalDateTime windowStart,
+        int rankedUsers,
+        List<LeaderboardEntryResponse> entries
+) {
+}
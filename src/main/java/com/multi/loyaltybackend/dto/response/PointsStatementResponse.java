@@ -0,0 +1,6 @@
+package com.multi.loyaltybackend.dto.response;
+
+import org.springframework.data.domain.Page;
+
+public record PointsStatementResponse(Integer balance, Page<PointsTransactionResponse> transactions) {
+}
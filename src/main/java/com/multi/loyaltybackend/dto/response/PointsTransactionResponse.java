@@ -0,0 +1,9 @@
+package com.multi.loyaltybackend.dto.response;
+
+import com.multi.loyaltybackend.model.PointsTransactionType;
+
+import java.time.LocalDateTime;
+
+public record PointsTransactionResponse(Long id, Integer amount, PointsTransactionType type, Long referenceId,
+                                        String description, LocalDateTime createdAt) {
+}
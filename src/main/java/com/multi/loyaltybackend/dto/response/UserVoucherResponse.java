@@ -13,6 +13,7 @@ public class UserVoucherResponse {
     private Integer points;
     private LocalDateTime expiry;
     private VoucherStatus status;
+    private String redemptionCode;
     private String companyName;
     private String companyLogoFileName;
 }
@@ -0,0 +1,17 @@
+package com.multi.loyaltybackend.dto.response;
+
+import com.multi.loyaltybackend.exception.ErrorCode;
+
+/**
+ * Outcome of one voucher in a batch exchange or redeem request
+ */
+public record VoucherBatchItemResult(Long voucherId, boolean success, String errorCode, String message) {
+
+    public static VoucherBatchItemResult success(Long voucherId) {
+        return new VoucherBatchItemResult(voucherId, true, null, null);
+    }
+
+    public static VoucherBatchItemResult failure(Long voucherId, ErrorCode errorCode) {
+        return new VoucherBatchItemResult(voucherId, false, errorCode.getCode(), errorCode.getDescription());
+    }
+}
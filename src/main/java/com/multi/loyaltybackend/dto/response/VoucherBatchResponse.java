@@ -0,0 +1,11 @@
+package com.multi.loyaltybackend.dto.response;
+
+import java.util.List;
+
+public record VoucherBatchResponse(List<VoucherBatchItemResult> results, int succeeded, int failed) {
+
+    public static VoucherBatchResponse of(List<VoucherBatchItemResult> results) {
+        int succeeded = (int) results.stream().filter(VoucherBatchItemResult::success).count();
+        return new VoucherBatchResponse(results, succeeded, results.size() - succeeded);
+    }
+}
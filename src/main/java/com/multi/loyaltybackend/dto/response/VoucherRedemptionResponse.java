@@ -0,0 +1,12 @@
+package com.multi.loyaltybackend.dto.response;
+
+import java.time.LocalDateTime;
+
+public record VoucherRedemptionResponse(
+        Long userVoucherId,
+        Long voucherId,
+        String title,
+        String companyName,
+        LocalDateTime redeemedAt
+) {
+}
@@ -0,0 +1,18 @@
+package com.multi.loyaltybackend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when password hashing is saturated and a login, registration or
+ * password change cannot be processed in time.
+ */
+public class AuthenticationBusyException extends BaseException {
+
+    public AuthenticationBusyException(String message) {
+        super(ErrorCode.AUTH_BUSY, HttpStatus.TOO_MANY_REQUESTS, message);
+    }
+
+    public AuthenticationBusyException(String message, Throwable cause) {
+        super(ErrorCode.AUTH_BUSY, HttpStatus.TOO_MANY_REQUESTS, message, cause);
+    }
+}
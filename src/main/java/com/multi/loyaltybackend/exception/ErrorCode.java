@@ -10,6 +10,7 @@ package com.multi.loyaltybackend.exception;
  * - AUTH_* : Authentication/Authorization errors (401, 403)
  * - VALIDATION_* : Validation errors (400)
  * - BUSINESS_* : Business logic errors (400, 409)
+ * - Capacity errors (429)
  * - SYSTEM_* : System/Server errors (500)
  */
 public enum ErrorCode {
@@ -20,6 +21,8 @@ public enum ErrorCode {
     COMPANY_NOT_FOUND("COMPANY_NOT_FOUND", "Company not found"),
     EVENT_NOT_FOUND("EVENT_NOT_FOUND", "Event not found"),
     VOUCHER_NOT_FOUND("VOUCHER_NOT_FOUND", "Voucher not found"),
+    USER_VOUCHER_NOT_FOUND("USER_VOUCHER_NOT_FOUND", "Voucher has not been exchanged by user"),
+    REDEMPTION_CODE_NOT_FOUND("REDEMPTION_CODE_NOT_FOUND", "Redemption code not found"),
 
     // Authentication & Authorization Errors (401, 403)
     AUTHENTICATION_FAILED("AUTH_FAILED", "Authentication failed"),
@@ -49,8 +52,14 @@ public enum ErrorCode {
     VOUCHER_ALREADY_EXCHANGED("VOUCHER_ALREADY_EXCHANGED", "Voucher already exchanged by user"),
     INSUFFICIENT_POINTS("INSUFFICIENT_POINTS", "Insufficient points for this operation"),
     VOUCHER_EXPIRED("VOUCHER_EXPIRED", "Voucher has expired"),
+    VOUCHER_OUT_OF_STOCK("VOUCHER_OUT_OF_STOCK", "Voucher is out of stock"),
+    VOUCHER_ALREADY_REDEEMED("VOUCHER_ALREADY_REDEEMED", "Voucher already redeemed"),
+    EVENT_NOT_ENDED("EVENT_NOT_ENDED", "Event has not taken place yet"),
     INVALID_OPERATION("INVALID_OPERATION", "Invalid operation"),
 
+    // Capacity Errors (429)
+    AUTH_BUSY("AUTH_BUSY", "Too many authentication requests, try again shortly"),
+
     // File Storage Errors (500)
     FILE_STORAGE_ERROR("FILE_STORAGE_ERROR", "Error occurred during file storage operation"),
     FILE_DELETION_ERROR("FILE_DELETION_ERROR", "Error occurred during file deletion"),
@@ -0,0 +1,26 @@
+package com.multi.loyaltybackend.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Exception thrown when completing the registrations of an event that has not taken place yet.
+ */
+@Getter
+public class EventNotEndedException extends BaseException {
+
+    private final Long eventId;
+
+    public EventNotEndedException(Long eventId, LocalDateTime dateTime) {
+        super(
+                ErrorCode.EVENT_NOT_ENDED,
+                HttpStatus.CONFLICT,
+                String.format("Event %d takes place at %s and cannot be completed yet", eventId, dateTime)
+        );
+        this.eventId = eventId;
+        addContext("eventId", eventId);
+        addContext("dateTime", dateTime);
+    }
+}
@@ -0,0 +1,18 @@
+package com.multi.loyaltybackend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a partner account that is not linked to a company redeems a voucher.
+ */
+public class PartnerCompanyNotAssignedException extends BaseException {
+
+    public PartnerCompanyNotAssignedException(String email) {
+        super(
+                ErrorCode.UNAUTHORIZED_ACCESS,
+                HttpStatus.FORBIDDEN,
+                "Partner account is not linked to a company"
+        );
+        addContext("email", email);
+    }
+}
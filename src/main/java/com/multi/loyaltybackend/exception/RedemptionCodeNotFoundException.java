@@ -0,0 +1,17 @@
+package com.multi.loyaltybackend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a redemption code does not belong to an active voucher.
+ */
+public class RedemptionCodeNotFoundException extends BaseException {
+
+    public RedemptionCodeNotFoundException() {
+        super(
+                ErrorCode.REDEMPTION_CODE_NOT_FOUND,
+                HttpStatus.NOT_FOUND,
+                "Redemption code not found or no longer active"
+        );
+    }
+}
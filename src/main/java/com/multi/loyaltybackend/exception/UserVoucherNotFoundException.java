@@ -0,0 +1,28 @@
+package com.multi.loyaltybackend.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when redeeming a voucher the user has not exchanged.
+ */
+@Getter
+public class UserVoucherNotFoundException extends BaseException {
+
+    private final Long userId;
+    private final Long voucherId;
+
+    public UserVoucherNotFoundException(Long userId, Long voucherId) {
+        super(
+                ErrorCode.USER_VOUCHER_NOT_FOUND,
+                HttpStatus.NOT_FOUND,
+                String.format("User %d has not exchanged voucher %d", userId, voucherId)
+        );
+        this.userId = userId;
+        this.voucherId = voucherId;
+
+        // Add context for debugging
+        addContext("userId", userId);
+        addContext("voucherId", voucherId);
+    }
+}
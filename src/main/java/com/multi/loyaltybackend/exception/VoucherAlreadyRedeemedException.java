@@ -0,0 +1,23 @@
+package com.multi.loyaltybackend.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when redeeming a voucher that has already been redeemed.
+ */
+@Getter
+public class VoucherAlreadyRedeemedException extends BaseException {
+
+    private final Long voucherId;
+
+    public VoucherAlreadyRedeemedException(Long voucherId) {
+        super(
+                ErrorCode.VOUCHER_ALREADY_REDEEMED,
+                HttpStatus.CONFLICT,
+                String.format("Voucher %d has already been redeemed", voucherId)
+        );
+        this.voucherId = voucherId;
+        addContext("voucherId", voucherId);
+    }
+}
@@ -0,0 +1,23 @@
+package com.multi.loyaltybackend.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a stock-limited voucher has no units left to exchange.
+ */
+@Getter
+public class VoucherOutOfStockException extends BaseException {
+
+    private final Long voucherId;
+
+    public VoucherOutOfStockException(Long voucherId) {
+        super(
+                ErrorCode.VOUCHER_OUT_OF_STOCK,
+                HttpStatus.CONFLICT,
+                String.format("Voucher %d is out of stock", voucherId)
+        );
+        this.voucherId = voucherId;
+        addContext("voucherId", voucherId);
+    }
+}
@@ -26,6 +26,7 @@ public class UserMapper {
                 .createdAt(user.getCreatedAt())
                 .updatedAt(user.getUpdatedAt())
                 .aboutMe(user.getAboutMe())
+                .companyId(user.getCompany() != null ? user.getCompany().getId() : null)
                 .build();
     }
 
@@ -5,6 +5,7 @@ import com.multi.loyaltybackend.dto.response.UserVoucherResponse;
 import com.multi.loyaltybackend.service.ImageStorageService;
 import com.multi.loyaltybackend.model.UserVoucher;
 import com.multi.loyaltybackend.model.Voucher;
+import com.multi.loyaltybackend.model.VoucherStatus;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -25,6 +26,7 @@ public class UserVoucherMapper {
                 .points(voucher.getPoints())
                 .expiry(voucher.getExpiry())
                 .status(userVoucher.getStatus())
+                .redemptionCode(userVoucher.getStatus() == VoucherStatus.ACTIVE ? userVoucher.getRedemptionCode() : null)
                 .companyName(company.getName())
                 .companyLogoFileName(imageStorageService.getFilePath(company.getLogoFileName()))
                 .build();
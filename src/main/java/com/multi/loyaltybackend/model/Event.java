@@ -1,5 +1,6 @@
 package com.multi.loyaltybackend.model;
 
+import com.multi.loyaltybackend.cache.EventChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -16,9 +17,11 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(EventChangeListener.class)
 @Table(name = "events", indexes = {
-        @Index(name = "idx_event_date", columnList = "date_time"),
-        @Index(name = "idx_event_category", columnList = "category")
+        @Index(name = "idx_event_date", columnList = "date_time, id"),
+        @Index(name = "idx_event_category", columnList = "category"),
+        @Index(name = "idx_event_location", columnList = "latitude, longitude")
 })
 public class Event {
 
@@ -29,6 +32,14 @@ public class Event {
     @Column(name = "file_name")
     private String fileName;
 
+    // Resized cover variants, filled in asynchronously by EventImageService; only written by
+    // targeted updates, so a full-row save of a stale entity cannot overwrite them
+    @Column(name = "thumbnail_file_name", updatable = false)
+    private String thumbnailFileName;
+
+    @Column(name = "detail_file_name", updatable = false)
+    private String detailFileName;
+
     @NotBlank(message = "Title is required")
     @Size(max = 100, message = "Title must not exceed 100 characters")
     @Column(nullable = false, length = 100)
@@ -64,6 +75,24 @@ public class Event {
     @Builder.Default
     private Integer points = 0;
 
+    // Registration counters are maintained by EventStatsService through bulk updates,
+    // so they are excluded from entity updates to avoid overwriting concurrent increments
+    @Column(name = "participants_pending", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer participantsPending = 0;
+
+    @Column(name = "participants_registered", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer participantsRegistered = 0;
+
+    @Column(name = "participants_completed", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer participantsCompleted = 0;
+
+    @Column(name = "participants_cancelled", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer participantsCancelled = 0;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
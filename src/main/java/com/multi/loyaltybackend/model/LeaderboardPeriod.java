@@ -0,0 +1,22 @@
+package com.multi.loyaltybackend.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+
+public enum LeaderboardPeriod {
+    ALL_TIME,
+    WEEKLY,
+    MONTHLY;
+
+    /**
+     * Start of the window containing {@code now}, or null for {@link #ALL_TIME}
+     */
+    public LocalDateTime windowStart(LocalDateTime now) {
+        return switch (this) {
+            case ALL_TIME -> null;
+            case WEEKLY -> now.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+            case MONTHLY -> now.toLocalDate().withDayOfMonth(1).atStartOfDay();
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.multi.loyaltybackend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only ledger entry; a user's balance is the sum of their entries.
+ * <p>
+ * Ids come from a pooled sequence so Hibernate can batch inserts. Each instance hands
+ * out its own block of ids, so id order is not commit order; balance snapshots track
+ * which entries they have absorbed with the {@code folded} flag instead of an id range.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "points_transactions", indexes = {
+        @Index(name = "idx_points_transaction_user", columnList = "user_id, id"),
+        @Index(name = "idx_points_transaction_created", columnList = "created_at"),
+        @Index(name = "idx_points_transaction_folded", columnList = "folded, id")
+})
+public class PointsTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "points_transactions_seq")
+    @SequenceGenerator(name = "points_transactions_seq", sequenceName = "points_transactions_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    // Signed: credits are positive, debits negative
+    @Column(nullable = false, updatable = false)
+    private Integer amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30, updatable = false)
+    private PointsTransactionType type;
+
+    // Event or voucher id, depending on the type
+    @Column(name = "reference_id", updatable = false)
+    private Long referenceId;
+
+    @Column(length = 255, updatable = false)
+    private String description;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Set only by the snapshot job, in the same transaction that adds the entry to the user's snapshot
+    @Column(nullable = false, updatable = false)
+    private boolean folded;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
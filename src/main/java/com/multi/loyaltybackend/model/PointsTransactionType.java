@@ -0,0 +1,9 @@
+package com.multi.loyaltybackend.model;
+
+public enum PointsTransactionType {
+    OPENING_BALANCE,
+    SIGNUP_BONUS,
+    EVENT_REWARD,
+    VOUCHER_EXCHANGE,
+    ADMIN_ADJUSTMENT
+}
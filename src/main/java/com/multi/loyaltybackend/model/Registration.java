@@ -17,7 +17,7 @@ import java.time.LocalDateTime;
         uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "event_id"}),
         indexes = {
                 @Index(name = "idx_registration_user", columnList = "user_id"),
-                @Index(name = "idx_registration_event", columnList = "event_id"),
+                @Index(name = "idx_registration_event", columnList = "event_id, status"),
                 @Index(name = "idx_registration_status", columnList = "status")
         })
 public class Registration {
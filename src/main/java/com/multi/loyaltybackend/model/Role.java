@@ -2,5 +2,6 @@ package com.multi.loyaltybackend.model;
 
 public enum Role {
     ADMIN,
-    USER
+    USER,
+    PARTNER
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.multi.loyaltybackend.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -22,6 +23,9 @@ import java.util.List;
 @AllArgsConstructor
 @Table(name = "users")
 @EntityListeners(AuditingEntityListener.class)
+// Points and counters are changed with relative UPDATEs; writing only dirty columns
+// keeps a concurrently loaded entity from overwriting them with stale values
+@DynamicUpdate
 @Builder
 public class User implements UserDetails {
 
@@ -71,6 +75,20 @@ public class User implements UserDetails {
 
     private String aboutMe;
 
+    // Company whose vouchers a PARTNER account may redeem
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "company_id")
+    private Company company;
+
+    // Bumped by a single UPDATE (see TokenRevocationService#revokeAllTokens) to invalidate every
+    // access token issued before, so it is excluded from entity updates
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private Integer tokenVersion = 0;
+
+    @Column(updatable = false)
+    private LocalDateTime tokenVersionChangedAt;
+
     @Column(nullable = false, length = 100)
     private String fullName;
 
@@ -1,5 +1,6 @@
 package com.multi.loyaltybackend.model;
 
+import com.multi.loyaltybackend.util.RedemptionCodes;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,7 +10,15 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_vouchers")
+@Table(name = "user_vouchers",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_user_voucher", columnNames = {"user_id", "voucher_id"}),
+                @UniqueConstraint(name = "uk_user_voucher_code", columnNames = "redemption_code")
+        },
+        indexes = {
+                @Index(name = "idx_user_voucher_voucher", columnList = "voucher_id"),
+                @Index(name = "idx_user_voucher_status", columnList = "status, id")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -37,11 +46,18 @@ public class UserVoucher {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // Shown to the cashier at the partner's point of sale
+    @Column(name = "redemption_code", length = RedemptionCodes.LENGTH)
+    private String redemptionCode;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         if (status == null) {
             status = VoucherStatus.ACTIVE;
         }
+        if (redemptionCode == null) {
+            redemptionCode = RedemptionCodes.generate();
+        }
     }
 }
\ No newline at end of file
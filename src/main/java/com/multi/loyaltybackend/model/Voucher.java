@@ -8,12 +8,16 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.*;
 
 @Entity
+@Table(indexes = @Index(name = "idx_voucher_expiry", columnList = "expiry"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -38,6 +42,11 @@ public class Voucher {
     @NotNull(message = "expiry is required")
     private LocalDateTime expiry;
 
+    // Maximum number of exchanges; null means unlimited
+    @Column(name = "stock_limit")
+    @Positive(message = "Stock limit must be positive")
+    private Integer stockLimit;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "company_id", nullable = false)
     @NotNull(message = "Company is required")
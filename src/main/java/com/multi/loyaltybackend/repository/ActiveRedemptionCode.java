@@ -0,0 +1,16 @@
+package com.multi.loyaltybackend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Redemption code of an active user voucher, used to build the in-memory code index
+ */
+public interface ActiveRedemptionCode {
+    Long getUserVoucherId();
+
+    Long getVoucherId();
+
+    String getCode();
+
+    LocalDateTime getExpiry();
+}
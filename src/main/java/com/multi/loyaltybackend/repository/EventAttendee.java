@@ -0,0 +1,14 @@
+package com.multi.loyaltybackend.repository;
+
+import com.multi.loyaltybackend.model.RegistrationStatus;
+
+/**
+ * Projection for one attendee of an event (registration joined with its user)
+ */
+public interface EventAttendee {
+    Long getUserId();
+
+    String getFileName();
+
+    RegistrationStatus getStatus();
+}
@@ -0,0 +1,8 @@
+package com.multi.loyaltybackend.repository;
+
+/**
+ * Projection for an attendee row of a multi-event preview query
+ */
+public interface EventAttendeePreview extends EventAttendee {
+    Long getEventId();
+}
@@ -0,0 +1,16 @@
+package com.multi.loyaltybackend.repository;
+
+/**
+ * Projection of the denormalized registration counters stored on an event
+ */
+public interface EventParticipantCounters {
+    Long getId();
+
+    Integer getParticipantsPending();
+
+    Integer getParticipantsRegistered();
+
+    Integer getParticipantsCompleted();
+
+    Integer getParticipantsCancelled();
+}
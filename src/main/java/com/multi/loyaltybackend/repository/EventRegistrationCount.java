@@ -0,0 +1,14 @@
+package com.multi.loyaltybackend.repository;
+
+import com.multi.loyaltybackend.model.RegistrationStatus;
+
+/**
+ * Projection for grouped registration counts (one row per event and status)
+ */
+public interface EventRegistrationCount {
+    Long getEventId();
+
+    RegistrationStatus getStatus();
+
+    Long getTotal();
+}
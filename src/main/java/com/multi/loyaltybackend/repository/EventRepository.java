@@ -1,15 +1,83 @@
 package com.multi.loyaltybackend.repository;
 
 import com.multi.loyaltybackend.model.Event;
-import com.multi.loyaltybackend.model.RegistrationStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
-    @Query("SELECT COUNT(r) FROM Registration r WHERE r.event.id = :eventId AND r.status = :status")
-    Integer countRegistrationsForEventWithStatus(@Param("eventId") Long eventId, @Param("status") RegistrationStatus status);
-}
\ No newline at end of file
+    @Query("SELECT r.event.id AS eventId, r.status AS status, COUNT(r) AS total FROM Registration r " +
+            "WHERE r.event.id IN :eventIds GROUP BY r.event.id, r.status")
+    List<EventRegistrationCount> countRegistrationsByStatus(@Param("eventIds") Collection<Long> eventIds);
+
+    @Query("SELECT r.event.id AS eventId, r.status AS status, COUNT(r) AS total FROM Registration r " +
+            "GROUP BY r.event.id, r.status")
+    List<EventRegistrationCount> countAllRegistrationsByStatus();
+
+    @Query("SELECT e.id AS id, e.participantsPending AS participantsPending, " +
+            "e.participantsRegistered AS participantsRegistered, e.participantsCompleted AS participantsCompleted, " +
+            "e.participantsCancelled AS participantsCancelled FROM Event e")
+    List<EventParticipantCounters> findAllParticipantCounters();
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.thumbnailFileName = NULL, e.detailFileName = NULL " +
+            "WHERE e.id = :eventId AND e.fileName = :fileName")
+    int clearImageVariants(@Param("eventId") Long eventId, @Param("fileName") String fileName);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Event e SET e.thumbnailFileName = :thumbnail, e.detailFileName = :detail " +
+            "WHERE e.id = :eventId AND e.fileName = :fileName")
+    int setImageVariants(@Param("eventId") Long eventId,
+                         @Param("fileName") String fileName,
+                         @Param("thumbnail") String thumbnail,
+                         @Param("detail") String detail);
+
+    /**
+     * Events that started before the cutoff and still have REGISTERED participants, oldest first
+     */
+    @Query("SELECT e.id FROM Event e WHERE e.dateTime < :cutoff AND e.participantsRegistered > 0 ORDER BY e.dateTime, e.id")
+    List<Long> findEndedEventIdsWithRegistered(@Param("cutoff") LocalDateTime cutoff);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :eventId")
+    Optional<Event> findByIdForUpdate(@Param("eventId") Long eventId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.participantsPending = e.participantsPending + :delta WHERE e.id = :eventId")
+    int adjustParticipantsPending(@Param("eventId") Long eventId, @Param("delta") int delta);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.participantsRegistered = e.participantsRegistered + :delta WHERE e.id = :eventId")
+    int adjustParticipantsRegistered(@Param("eventId") Long eventId, @Param("delta") int delta);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.participantsCompleted = e.participantsCompleted + :delta WHERE e.id = :eventId")
+    int adjustParticipantsCompleted(@Param("eventId") Long eventId, @Param("delta") int delta);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.participantsCancelled = e.participantsCancelled + :delta WHERE e.id = :eventId")
+    int adjustParticipantsCancelled(@Param("eventId") Long eventId, @Param("delta") int delta);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.participantsPending = :pending, e.participantsRegistered = :registered, " +
+            "e.participantsCompleted = :completed, e.participantsCancelled = :cancelled WHERE e.id = :eventId")
+    int setParticipantCounters(@Param("eventId") Long eventId,
+                               @Param("pending") int pending,
+                               @Param("registered") int registered,
+                               @Param("completed") int completed,
+                               @Param("cancelled") int cancelled);
+}
@@ -3,6 +3,7 @@ package com.multi.loyaltybackend.repository;
 import com.multi.loyaltybackend.model.Event;
 import com.multi.loyaltybackend.model.EventCategory;
 import com.multi.loyaltybackend.model.Registration;
+import com.multi.loyaltybackend.util.GeoUtils;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
@@ -10,6 +11,8 @@ import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -68,6 +71,45 @@ public class EventSpecifications {
         };
     }
 
+    /**
+     * Keyset predicate for feed ordering (dateTime, id): rows strictly after the given position
+     */
+    public static Specification<Event> isAfterPosition(LocalDateTime dateTime, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("dateTime"), dateTime),
+                cb.and(
+                        cb.equal(root.get("dateTime"), dateTime),
+                        cb.greaterThan(root.get("id"), id)
+                )
+        );
+    }
+
+    /**
+     * Coarse spatial pre-filter; the box may cross the antimeridian
+     */
+    public static Specification<Event> withinBoundingBox(GeoUtils.BoundingBox box) {
+        return (root, query, cb) -> {
+            Predicate latitude = cb.between(root.get("latitude"), box.minLatitude(), box.maxLatitude());
+            Predicate longitude = box.crossesAntimeridian()
+                    ? cb.or(cb.ge(root.get("longitude"), box.minLongitude()), cb.le(root.get("longitude"), box.maxLongitude()))
+                    : cb.between(root.get("longitude"), box.minLongitude(), box.maxLongitude());
+            return cb.and(latitude, longitude);
+        };
+    }
+
+    public static Specification<Event> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
+
+    public static Specification<Event> idNotIn(long[] ids) {
+        return (root, query, cb) -> {
+            if (ids == null || ids.length == 0) {
+                return cb.conjunction();
+            }
+            return cb.not(root.get("id").in(Arrays.stream(ids).boxed().toList()));
+        };
+    }
+
     public static Specification<Event> titleContains(String title) {
         return (root, query, criteriaBuilder) -> {
             if (title == null || title.isEmpty()) {
@@ -0,0 +1,13 @@
+package com.multi.loyaltybackend.repository;
+
+import com.multi.loyaltybackend.model.PointsBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PointsBalanceSnapshotRepository extends JpaRepository<PointsBalanceSnapshot, Long> {
+    @Modifying
+    @Query("DELETE FROM PointsBalanceSnapshot s WHERE s.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
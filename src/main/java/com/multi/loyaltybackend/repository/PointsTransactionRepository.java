@@ -0,0 +1,49 @@
+package com.multi.loyaltybackend.repository;
+
+import com.multi.loyaltybackend.model.PointsTransaction;
+import com.multi.loyaltybackend.model.PointsTransactionType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface PointsTransactionRepository extends JpaRepository<PointsTransaction, Long> {
+    Page<PointsTransaction> findByUserIdOrderByIdDesc(Long userId, Pageable pageable);
+
+    // One statement, so the snapshot and the unfolded tail are read as of the same commit
+    @Query("SELECT COALESCE((SELECT s.balance FROM PointsBalanceSnapshot s WHERE s.userId = :userId), 0) " +
+            "+ COALESCE(SUM(t.amount), 0) FROM PointsTransaction t WHERE t.userId = :userId AND t.folded = false")
+    long findBalanceByUserId(@Param("userId") Long userId);
+
+    List<PointsTransaction> findByFoldedFalseOrderById(Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE PointsTransaction t SET t.folded = true WHERE t.id IN :ids AND t.folded = false")
+    int markFolded(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t.userId AS userId, SUM(t.amount) AS total FROM PointsTransaction t " +
+            "WHERE t.createdAt >= :from AND t.amount > 0 AND t.type IN :types GROUP BY t.userId")
+    List<UserPointsDelta> sumEarnedByUserSince(@Param("from") LocalDateTime from,
+                                               @Param("types") Collection<PointsTransactionType> types);
+
+    @Query("SELECT t.userId AS userId, SUM(t.amount) AS total FROM PointsTransaction t " +
+            "WHERE t.userId IN :userIds AND t.createdAt >= :from AND t.amount > 0 AND t.type IN :types " +
+            "GROUP BY t.userId")
+    List<UserPointsDelta> sumEarnedByUserSince(@Param("userIds") Collection<Long> userIds,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("types") Collection<PointsTransactionType> types);
+
+    @Query("SELECT u.id FROM User u WHERE u.totalPoints <> 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM PointsTransaction t WHERE t.userId = u.id)")
+    List<Long> findUserIdsWithoutLedger();
+
+    @Modifying
+    @Query("DELETE FROM PointsTransaction t WHERE t.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -2,16 +2,59 @@ package com.multi.loyaltybackend.repository;
 
 import com.multi.loyaltybackend.model.Registration;
 import com.multi.loyaltybackend.model.RegistrationStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 public interface RegistrationRepository extends JpaRepository<Registration, Long>, JpaSpecificationExecutor<Registration> {
     boolean existsByUserIdAndEventId(Long userId, Long eventId);
 
     Registration findByUserIdAndEventId(Long userId, Long eventId);
 
-    @Query("SELECT COUNT(r) FROM Registration r WHERE r.event.id = :eventId AND r.status IN :statuses")
-    long countByEventIdAndStatusIn(@Param("eventId") Long eventId, @Param("statuses") java.util.List<RegistrationStatus> statuses);
+    @Query("SELECT r.event.id FROM Registration r WHERE r.user.id = :userId")
+    List<Long> findEventIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT r.id AS id, r.user.id AS userId FROM Registration r " +
+            "WHERE r.event.id = :eventId AND r.status = :status ORDER BY r.id")
+    List<RegistrationUser> findRegistrationUsers(@Param("eventId") Long eventId,
+                                                 @Param("status") RegistrationStatus status);
+
+    /**
+     * Moves the given registrations from one status to another; rows no longer in {@code from} are left alone
+     *
+     * @return Number of registrations moved
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Registration r SET r.status = :to, r.updatedAt = :now WHERE r.id IN :ids AND r.status = :from")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("from") RegistrationStatus from,
+                         @Param("to") RegistrationStatus to,
+                         @Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT u.id AS userId, u.fileName AS fileName, r.status AS status FROM Registration r JOIN r.user u " +
+            "WHERE r.event.id = :eventId AND (:status IS NULL OR r.status = :status) ORDER BY r.id",
+            countQuery = "SELECT COUNT(r) FROM Registration r WHERE r.event.id = :eventId AND (:status IS NULL OR r.status = :status)")
+    Page<EventAttendee> findAttendeesByEventId(@Param("eventId") Long eventId,
+                                               @Param("status") RegistrationStatus status,
+                                               Pageable pageable);
+
+    /**
+     * First {@code limit} attendees with the given status for each event, in registration order
+     */
+    @Query("SELECT a.eventId AS eventId, a.userId AS userId, a.fileName AS fileName, a.status AS status FROM (" +
+            "SELECT r.event.id AS eventId, u.id AS userId, u.fileName AS fileName, r.status AS status, " +
+            "row_number() OVER (PARTITION BY r.event.id ORDER BY r.id) AS position " +
+            "FROM Registration r JOIN r.user u WHERE r.event.id IN :eventIds AND r.status = :status) a " +
+            "WHERE a.position <= :limit ORDER BY a.eventId, a.position")
+    List<EventAttendeePreview> findAttendeePreviews(@Param("eventIds") Collection<Long> eventIds,
+                                                    @Param("status") RegistrationStatus status,
+                                                    @Param("limit") int limit);
 }
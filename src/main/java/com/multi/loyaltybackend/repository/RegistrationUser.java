@@ -0,0 +1,10 @@
+package com.multi.loyaltybackend.repository;
+
+/**
+ * Registration id with the id of the registered user
+ */
+public interface RegistrationUser {
+    Long getId();
+
+    Long getUserId();
+}
@@ -0,0 +1,10 @@
+package com.multi.loyaltybackend.repository;
+
+/**
+ * Projection for the summed ledger amount of one user over a range of transactions
+ */
+public interface UserPointsDelta {
+    Long getUserId();
+
+    Long getTotal();
+}
@@ -3,7 +3,13 @@ package com.multi.loyaltybackend.repository;
 import com.multi.loyaltybackend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
@@ -12,4 +18,56 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     Optional<User> findByPasswordResetToken(String token);
 
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1, u.tokenVersionChangedAt = :now WHERE u.id = :userId")
+    int incrementTokenVersion(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :userId")
+    Optional<Integer> findTokenVersionById(@Param("userId") Long userId);
+
+    @Query("SELECT u.id AS userId, u.tokenVersion AS tokenVersion, u.tokenVersionChangedAt AS changedAt " +
+            "FROM User u WHERE u.tokenVersionChangedAt >= :since")
+    List<UserTokenVersion> findTokenVersionsChangedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT u.totalPoints FROM User u WHERE u.id = :userId")
+    Optional<Integer> findTotalPointsById(@Param("userId") Long userId);
+
+    @Query("SELECT u.id AS userId, u.totalPoints AS total FROM User u WHERE u.totalPoints > 0")
+    List<UserPointsDelta> findPositiveBalances();
+
+    @Query("SELECT u.id AS userId, u.totalPoints AS total FROM User u WHERE u.id IN :userIds")
+    List<UserPointsDelta> findBalancesByIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.totalPoints = u.totalPoints + :delta WHERE u.id = :userId")
+    int adjustPoints(@Param("userId") Long userId, @Param("delta") int delta);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.eventCount = u.eventCount + 1 WHERE u.id = :userId")
+    int incrementEventCount(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.totalPoints = u.totalPoints + :delta WHERE u.id IN :userIds")
+    int adjustPointsAll(@Param("userIds") Collection<Long> userIds, @Param("delta") int delta);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.eventCount = u.eventCount + 1 WHERE u.id IN :userIds")
+    int incrementEventCountAll(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Deducts points only if the balance covers them, as one atomic statement
+     *
+     * @return 1 if the points were deducted, 0 if the balance was insufficient
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.totalPoints = u.totalPoints - :points WHERE u.id = :userId AND u.totalPoints >= :points")
+    int debitPoints(@Param("userId") Long userId, @Param("points") int points);
+
+    @Query("SELECT u.company.id FROM User u WHERE u.email = :email")
+    Optional<Long> findCompanyIdByEmail(@Param("email") String email);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.company = NULL WHERE u.company.id = :companyId")
+    int unlinkCompany(@Param("companyId") Long companyId);
+}
@@ -0,0 +1,14 @@
+package com.multi.loyaltybackend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection for a user's access token version and when it last changed
+ */
+public interface UserTokenVersion {
+    Long getUserId();
+
+    Integer getTokenVersion();
+
+    LocalDateTime getChangedAt();
+}
@@ -1,11 +1,104 @@
 package com.multi.loyaltybackend.repository;
 
 import com.multi.loyaltybackend.model.UserVoucher;
+import com.multi.loyaltybackend.model.VoucherStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserVoucherRepository extends JpaRepository<UserVoucher, Long> {
     boolean existsByUserIdAndVoucherId(Long userId, Long voucherId);
     Optional<UserVoucher> getUserVoucherByUserIdAndVoucherId(Long userId, Long voucherId);
+    long countByVoucherId(Long voucherId);
+
+    @Query("SELECT uv.voucher.id FROM UserVoucher uv WHERE uv.user.id = :userId")
+    List<Long> findVoucherIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT uv FROM UserVoucher uv JOIN FETCH uv.voucher " +
+            "WHERE uv.user.id = :userId AND uv.voucher.id IN :voucherIds")
+    List<UserVoucher> findByUserIdAndVoucherIdIn(@Param("userId") Long userId,
+                                                 @Param("voucherIds") Collection<Long> voucherIds);
+
+    @Query("SELECT uv.id AS userVoucherId, v.id AS voucherId, uv.redemptionCode AS code, v.expiry AS expiry " +
+            "FROM UserVoucher uv JOIN uv.voucher v WHERE uv.status = :status AND uv.redemptionCode IS NOT NULL")
+    List<ActiveRedemptionCode> findRedemptionCodesByStatus(@Param("status") VoucherStatus status);
+
+    @Query("SELECT uv.id AS userVoucherId, v.id AS voucherId, uv.redemptionCode AS code, v.expiry AS expiry " +
+            "FROM UserVoucher uv JOIN uv.voucher v " +
+            "WHERE v.id = :voucherId AND uv.status = :status AND uv.redemptionCode IS NOT NULL")
+    List<ActiveRedemptionCode> findRedemptionCodesByVoucherId(@Param("voucherId") Long voucherId,
+                                                              @Param("status") VoucherStatus status);
+
+    @Query("SELECT uv.id AS userVoucherId, v.id AS voucherId, uv.redemptionCode AS code, v.expiry AS expiry " +
+            "FROM UserVoucher uv JOIN uv.voucher v WHERE uv.redemptionCode = :code AND uv.status = :status")
+    Optional<ActiveRedemptionCode> findRedemptionCodeByCode(@Param("code") String code,
+                                                            @Param("status") VoucherStatus status);
+
+    List<UserVoucher> findByRedemptionCodeIsNull();
+
+    /**
+     * Next chunk of user vouchers still in {@code status} whose voucher expired before {@code now}, in id order
+     */
+    @Query("SELECT uv.id AS userVoucherId, v.id AS voucherId, uv.redemptionCode AS code, v.expiry AS expiry " +
+            "FROM UserVoucher uv JOIN uv.voucher v " +
+            "WHERE uv.status = :status AND uv.id > :afterId AND v.expiry < :now ORDER BY uv.id")
+    List<ActiveRedemptionCode> findExpiredChunk(@Param("status") VoucherStatus status,
+                                                @Param("afterId") Long afterId,
+                                                @Param("now") LocalDateTime now,
+                                                Limit limit);
+
+    @Query("SELECT MIN(v.expiry) FROM UserVoucher uv JOIN uv.voucher v WHERE uv.status = :status AND v.expiry < :now")
+    Optional<LocalDateTime> findOldestExpiry(@Param("status") VoucherStatus status, @Param("now") LocalDateTime now);
+
+    /**
+     * Moves the given user vouchers from {@code from} to {@code to}, skipping rows whose voucher
+     * no longer expires before {@code now} (e.g. an admin extended it after the rows were read)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE UserVoucher uv SET uv.status = :to WHERE uv.id IN :ids AND uv.status = :from " +
+            "AND EXISTS (SELECT 1 FROM Voucher v WHERE v.id = uv.voucher.id AND v.expiry < :now)")
+    int updateStatusIfExpired(@Param("ids") Collection<Long> ids,
+                              @Param("from") VoucherStatus from,
+                              @Param("to") VoucherStatus to,
+                              @Param("now") LocalDateTime now);
+
+    @Query("SELECT uv.id FROM UserVoucher uv WHERE uv.id IN :ids AND uv.status = :status")
+    List<Long> findIdsByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") VoucherStatus status);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE UserVoucher uv SET uv.status = :to WHERE uv.voucher.id = :voucherId AND uv.status = :from")
+    int updateStatusByVoucherId(@Param("voucherId") Long voucherId,
+                                @Param("from") VoucherStatus from,
+                                @Param("to") VoucherStatus to);
+
+    /**
+     * Inserts one row per voucher for the user in a single statement.
+     * The unique (user_id, voucher_id) constraint still rejects duplicates.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO UserVoucher (user, voucher, status, createdAt) " +
+            "SELECT u, v, :status, :createdAt FROM User u, Voucher v WHERE u.id = :userId AND v.id IN :voucherIds")
+    int insertAll(@Param("userId") Long userId,
+                  @Param("voucherIds") Collection<Long> voucherIds,
+                  @Param("status") VoucherStatus status,
+                  @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Moves the given user vouchers from {@code from} to {@code to} in one statement; rows
+     * whose status changed concurrently are skipped, so callers compare the returned count.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE UserVoucher uv SET uv.status = :to, uv.redeemedAt = :redeemedAt " +
+            "WHERE uv.id IN :ids AND uv.status = :from")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("from") VoucherStatus from,
+                         @Param("to") VoucherStatus to,
+                         @Param("redeemedAt") LocalDateTime redeemedAt);
 }
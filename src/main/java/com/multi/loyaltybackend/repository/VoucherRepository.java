@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 @Repository
@@ -18,4 +19,10 @@ public interface VoucherRepository extends JpaRepository<Voucher, Long>, JpaSpec
     @Query("SELECT v FROM Voucher v WHERE NOT EXISTS " +
             "(SELECT 1 FROM UserVoucher uv WHERE uv.voucher.id = v.id AND uv.user.id = :userId)")
     List<Voucher> findAvailableVouchersForUser(@Param("userId") Long userId);
+
+    @Query("SELECT v FROM Voucher v JOIN FETCH v.company ORDER BY v.id")
+    List<Voucher> findAllWithCompany();
+
+    @Query("SELECT v.stockLimit FROM Voucher v WHERE v.id = :id")
+    Optional<Integer> findStockLimitById(@Param("id") Long id);
 }
\ No newline at end of file
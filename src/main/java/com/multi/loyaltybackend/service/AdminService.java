@@ -1,16 +1,22 @@
 package com.multi.loyaltybackend.service;
 
+import com.multi.loyaltybackend.cache.PrincipalCache;
+import com.multi.loyaltybackend.cache.RegisteredEventIndex;
 import com.multi.loyaltybackend.repository.CompanyRepository;
 import com.multi.loyaltybackend.config.LoggingConstants;
 import com.multi.loyaltybackend.dto.*;
+import com.multi.loyaltybackend.exception.CompanyNotFoundException;
 import com.multi.loyaltybackend.exception.UserNotFoundException;
 import com.multi.loyaltybackend.mapper.UserMapper;
+import com.multi.loyaltybackend.model.Company;
+import com.multi.loyaltybackend.model.PointsTransactionType;
 import com.multi.loyaltybackend.model.Role;
 import com.multi.loyaltybackend.model.User;
 import com.multi.loyaltybackend.repository.EventRepository;
 import com.multi.loyaltybackend.repository.RegistrationRepository;
 import com.multi.loyaltybackend.repository.UserRepository;
 import com.multi.loyaltybackend.specification.UserSpecifications;
+import com.multi.loyaltybackend.util.TransactionUtils;
 import com.multi.loyaltybackend.repository.UserVoucherRepository;
 import com.multi.loyaltybackend.repository.VoucherRepository;
 import lombok.RequiredArgsConstructor;
@@ -38,6 +44,11 @@ public class AdminService {
     private final UserVoucherRepository userVoucherRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final EventStatsService eventStatsService;
+    private final RegisteredEventIndex registeredEventIndex;
+    private final PrincipalCache principalCache;
+    private final PointsLedgerService pointsLedgerService;
+    private final TokenRevocationService tokenRevocationService;
 
     /**
      * Get dashboard statistics
@@ -154,7 +165,12 @@ public class AdminService {
                 newRole);
 
         user.setRole(newRole);
+        if (newRole != Role.PARTNER) {
+            user.setCompany(null);
+        }
         User updatedUser = userRepository.save(user);
+        // Tokens issued before carry the old role; the user signs in again to get one with the new role
+        tokenRevocationService.revokeAllTokens(updatedUser);
 
         log.info("{} Successfully updated User ID={} role to {}",
                 LoggingConstants.ADMIN_PANEL, userId, newRole);
@@ -171,12 +187,10 @@ public class AdminService {
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
 
         int currentPoints = user.getTotalPoints() != null ? user.getTotalPoints() : 0;
-        int newPoints = currentPoints + pointsToAdd;
 
         // Ensure points don't go below 0
-        if (newPoints < 0) {
-            newPoints = 0;
-        }
+        int delta = Math.max(pointsToAdd, -currentPoints);
+        int newPoints = currentPoints + delta;
 
         log.info("{} {} {} ID={} - Points adjustment: {} (total: {} -> {})",
                 LoggingConstants.ADMIN_PANEL,
@@ -187,13 +201,12 @@ public class AdminService {
                 currentPoints,
                 newPoints);
 
-        user.setTotalPoints(newPoints);
-        User updatedUser = userRepository.save(user);
+        user.setTotalPoints(adjustPoints(userId, delta));
 
         log.info("{} Successfully updated User ID={} points to {}",
-                LoggingConstants.ADMIN_PANEL, userId, newPoints);
+                LoggingConstants.ADMIN_PANEL, userId, user.getTotalPoints());
 
-        return convertToUserManagementDTO(updatedUser);
+        return convertToUserManagementDTO(user);
     }
 
     /**
@@ -230,9 +243,12 @@ public class AdminService {
                 .workingHours(userFormDTO.getWorkingHours() != null ? userFormDTO.getWorkingHours() : 0)
                 .aboutMe(userFormDTO.getAboutMe())
                 .role(userFormDTO.getRole() != null ? userFormDTO.getRole() : Role.USER)
+                .company(partnerCompany(userFormDTO))
                 .build();
 
         User savedUser = userRepository.save(user);
+        pointsLedgerService.recordInitialBalance(savedUser.getId(), savedUser.getTotalPoints(),
+                PointsTransactionType.OPENING_BALANCE, "Set by admin");
 
         log.info("{} Successfully created User ID={} - Email: {}",
                 LoggingConstants.ADMIN_PANEL, savedUser.getId(), savedUser.getEmail());
@@ -255,6 +271,9 @@ public class AdminService {
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
+        String previousEmail = user.getEmail();
+        Role previousRole = user.getRole();
+        boolean passwordChanged = false;
 
         if (!user.getEmail().equals(userFormDTO.getEmail())) {
             if (userRepository.findByEmail(userFormDTO.getEmail()).isPresent()) {
@@ -273,18 +292,30 @@ public class AdminService {
         if (userFormDTO.getPassword() != null && !userFormDTO.getPassword().isEmpty()) {
             log.debug("{} Password updated for User ID={}", LoggingConstants.ADMIN_PANEL, userId);
             user.setPassword(passwordEncoder.encode(userFormDTO.getPassword()));
+            passwordChanged = true;
         }
 
         user.setFullName(userFormDTO.getFullName());
         user.setAge(userFormDTO.getAge());
         user.setMobileNumber(userFormDTO.getMobileNumber());
-        user.setTotalPoints(userFormDTO.getTotalPoints() != null ? userFormDTO.getTotalPoints() : 0);
+        int targetPoints = userFormDTO.getTotalPoints() != null ? userFormDTO.getTotalPoints() : 0;
+        int currentPoints = user.getTotalPoints() != null ? user.getTotalPoints() : 0;
+        if (targetPoints != currentPoints) {
+            user.setTotalPoints(adjustPoints(userId, targetPoints - currentPoints));
+        }
         user.setEventCount(userFormDTO.getEventCount() != null ? userFormDTO.getEventCount() : 0);
         user.setWorkingHours(userFormDTO.getWorkingHours() != null ? userFormDTO.getWorkingHours() : 0);
         user.setAboutMe(userFormDTO.getAboutMe());
         user.setRole(userFormDTO.getRole() != null ? userFormDTO.getRole() : Role.USER);
+        user.setCompany(partnerCompany(userFormDTO));
 
         User updatedUser = userRepository.save(user);
+        if (passwordChanged || previousRole != updatedUser.getRole()) {
+            tokenRevocationService.revokeAllTokens(updatedUser);
+        }
+        if (!previousEmail.equals(updatedUser.getEmail())) {
+            TransactionUtils.afterCommit(() -> principalCache.invalidate(userId, previousEmail));
+        }
 
         log.info("{} Successfully updated User ID={} - Email: {}",
                 LoggingConstants.ADMIN_PANEL, updatedUser.getId(), updatedUser.getEmail());
@@ -313,11 +344,49 @@ public class AdminService {
                 userId,
                 user.getEmail());
 
+        // Registrations are removed by cascade, so release their event counters first
+        user.getRegistrations().forEach(registration ->
+                eventStatsService.registrationRemoved(registration.getEvent().getId(), registration.getStatus()));
+
+        pointsLedgerService.deleteLedger(userId);
         userRepository.delete(user);
+        TransactionUtils.afterCommit(() -> registeredEventIndex.evict(userId));
+        invalidatePrincipal(user);
 
         log.info("{} Successfully deleted User ID={}", LoggingConstants.ADMIN_PANEL, userId);
     }
 
+    /**
+     * Makes tokens issued before this change re-check the user once the change is committed
+     */
+    private void invalidatePrincipal(User user) {
+        Long userId = user.getId();
+        String email = user.getEmail();
+        TransactionUtils.afterCommit(() -> principalCache.invalidate(userId, email));
+    }
+
+    /**
+     * Applies an admin points adjustment through the ledger
+     *
+     * @return The new balance
+     */
+    private int adjustPoints(Long userId, int delta) {
+        return delta >= 0
+                ? pointsLedgerService.credit(userId, delta, PointsTransactionType.ADMIN_ADJUSTMENT, null, "Admin adjustment")
+                : pointsLedgerService.debit(userId, -delta, PointsTransactionType.ADMIN_ADJUSTMENT, null, "Admin adjustment");
+    }
+
+    /**
+     * Company a PARTNER account redeems vouchers for; other roles are not linked to a company
+     */
+    private Company partnerCompany(UserFormDTO userFormDTO) {
+        if (userFormDTO.getRole() != Role.PARTNER || userFormDTO.getCompanyId() == null) {
+            return null;
+        }
+        return companyRepository.findById(userFormDTO.getCompanyId())
+                .orElseThrow(() -> new CompanyNotFoundException(userFormDTO.getCompanyId()));
+    }
+
     /**
      * Convert User entity to UserManagementDTO
      */
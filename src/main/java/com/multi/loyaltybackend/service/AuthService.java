@@ -5,6 +5,7 @@ import com.multi.loyaltybackend.dto.RegisterRequest;
 import com.multi.loyaltybackend.exception.*;
 import com.multi.loyaltybackend.model.EmailVerificationCode;
 import com.multi.loyaltybackend.model.PasswordResetCode;
+import com.multi.loyaltybackend.model.PointsTransactionType;
 import com.multi.loyaltybackend.model.RefreshToken;
 import com.multi.loyaltybackend.model.Role;
 import com.multi.loyaltybackend.model.User;
@@ -13,15 +14,15 @@ import com.multi.loyaltybackend.repository.PasswordResetCodeRepository;
 import com.multi.loyaltybackend.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
-import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class AuthService {
@@ -34,13 +35,12 @@ public class AuthService {
     private final PasswordResetCodeRepository passwordResetCodeRepository;
     private final EmailVerificationCodeRepository emailVerificationCodeRepository;
     private final RefreshTokenService refreshTokenService;
+    private final PointsLedgerService pointsLedgerService;
+    private final TokenRevocationService tokenRevocationService;
+    private final TransactionTemplate transactionTemplate;
     private final SecureRandom secureRandom = new SecureRandom();
 
-    // Thread-safe set for blacklisted tokens
-    // TODO: Consider using Redis with TTL for production to prevent memory leaks
-    public static final Set<String> blackList = ConcurrentHashMap.newKeySet();
-
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService, AuthenticationManager authenticationManager, EmailService emailService, PasswordResetCodeRepository passwordResetCodeRepository, EmailVerificationCodeRepository emailVerificationCodeRepository, RefreshTokenService refreshTokenService) {
+    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService, AuthenticationManager authenticationManager, EmailService emailService, PasswordResetCodeRepository passwordResetCodeRepository, EmailVerificationCodeRepository emailVerificationCodeRepository, RefreshTokenService refreshTokenService, PointsLedgerService pointsLedgerService, TokenRevocationService tokenRevocationService, TransactionTemplate transactionTemplate) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
@@ -49,17 +49,28 @@ public class AuthService {
         this.passwordResetCodeRepository = passwordResetCodeRepository;
         this.emailVerificationCodeRepository = emailVerificationCodeRepository;
         this.refreshTokenService = refreshTokenService;
+        this.pointsLedgerService = pointsLedgerService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.transactionTemplate = transactionTemplate;
     }
 
-    @Transactional
     public void register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.email())) {
             throw new EmailAlreadyExistsException(request.email());
         }
+        // Hashing waits for the hashing pool, so it runs before the transaction takes a connection
+        String passwordHash = passwordEncoder.encode(request.password());
+        transactionTemplate.executeWithoutResult(status -> createUser(request, passwordHash));
+    }
+
+    private void createUser(RegisterRequest request, String passwordHash) {
+        if (userRepository.existsByEmail(request.email())) {
+            throw new EmailAlreadyExistsException(request.email());
+        }
 
         User user = User.builder()
                 .email(request.email())
-                .password(passwordEncoder.encode(request.password()))
+                .password(passwordHash)
                 .role(request.role() == null ? Role.USER : request.role())
                 .fullName(request.fullName())
                 .fileName("default-profile.png")
@@ -68,6 +79,8 @@ public class AuthService {
                 .build();
 
         userRepository.save(user);
+        pointsLedgerService.recordInitialBalance(user.getId(), user.getTotalPoints(),
+                PointsTransactionType.SIGNUP_BONUS, "Sign-up bonus");
 
         // Generate and send email verification code
         String code = generateVerificationCode();
@@ -82,11 +95,23 @@ public class AuthService {
         emailService.sendEmailVerificationCode(request.email(), code);
     }
 
-    @Transactional
     public AuthResponse login(String email, String password) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(email, password)
-        );
+        // The password check waits for the hashing pool, so it runs before the transaction takes a connection
+        try {
+            authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(email, password)
+            );
+        } catch (InternalAuthenticationServiceException e) {
+            // For unknown emails the provider hashes while loading the user, which wraps a saturated pool
+            if (e.getCause() instanceof AuthenticationBusyException busy) {
+                throw busy;
+            }
+            throw e;
+        }
+        return transactionTemplate.execute(status -> issueTokens(email));
+    }
+
+    private AuthResponse issueTokens(String email) {
         User user = userRepository.findByEmail(email).orElseThrow();
 
         // Check if email is verified
@@ -105,11 +130,12 @@ public class AuthService {
 
     @Transactional
     public void logout(String token) {
-        // Blacklist the access token
-        blackList.add(token);
+        // Revoke the access token until it expires
+        JwtService.TokenClaims claims = jwtService.verify(token);
+        tokenRevocationService.revoke(claims.tokenId(), claims.expiresAt());
 
-        // Extract user from token and revoke their refresh token
-        String userEmail = jwtService.extractUsername(token);
+        // Revoke the user's refresh token
+        String userEmail = claims.subject();
         User user = userRepository.findByEmail(userEmail).orElse(null);
         if (user != null) {
             refreshTokenService.revokeUserTokens(user);
@@ -148,6 +174,14 @@ public class AuthService {
     }
 
     public void resetPassword(String token, String newPassword) {
+        // Invalid tokens are rejected before paying for a hash; hashing runs before the
+        // transaction (see register), which checks the token again
+        findUserWithValidResetToken(token);
+        String passwordHash = passwordEncoder.encode(newPassword);
+        transactionTemplate.executeWithoutResult(status -> applyPasswordReset(token, passwordHash));
+    }
+
+    private User findUserWithValidResetToken(String token) {
         User user = userRepository.findByPasswordResetToken(token)
                 .orElseThrow(() -> new InvalidPasswordResetTokenException());
 
@@ -156,11 +190,17 @@ public class AuthService {
             user.getPasswordResetTokenExpiry().isBefore(LocalDateTime.now())) {
             throw new PasswordResetTokenExpiredException();
         }
+        return user;
+    }
 
-        user.setPassword(passwordEncoder.encode(newPassword));
+    private void applyPasswordReset(String token, String passwordHash) {
+        User user = findUserWithValidResetToken(token);
+
+        user.setPassword(passwordHash);
         user.setPasswordResetToken(null);
         user.setPasswordResetTokenExpiry(null);
         userRepository.save(user);
+        tokenRevocationService.revokeAllTokens(user);
     }
 
     // New code-based password reset methods
@@ -201,6 +241,11 @@ public class AuthService {
      * Verifies if the provided reset code is valid
      */
     public boolean verifyResetCode(String email, String code) {
+        findValidResetCode(email, code);
+        return true;
+    }
+
+    private PasswordResetCode findValidResetCode(String email, String code) {
         PasswordResetCode resetCode = passwordResetCodeRepository.findByCodeAndEmail(code, email)
                 .orElseThrow(() -> new InvalidPasswordResetCodeException("Invalid reset code"));
 
@@ -211,32 +256,29 @@ public class AuthService {
         if (resetCode.isUsed()) {
             throw new InvalidPasswordResetCodeException("Reset code has already been used");
         }
-
-        return true;
+        return resetCode;
     }
 
     /**
      * Resets password using the code-based flow
      */
-    @Transactional
     public void resetPasswordWithCode(String email, String code, String newPassword) {
-        PasswordResetCode resetCode = passwordResetCodeRepository.findByCodeAndEmail(code, email)
-                .orElseThrow(() -> new InvalidPasswordResetCodeException("Invalid reset code"));
-
-        if (resetCode.isExpired()) {
-            throw new PasswordResetCodeExpiredException();
-        }
+        // Checked before hashing and again in the transaction, see resetPassword
+        findValidResetCode(email, code);
+        String passwordHash = passwordEncoder.encode(newPassword);
+        transactionTemplate.executeWithoutResult(status -> applyPasswordResetWithCode(email, code, passwordHash));
+    }
 
-        if (resetCode.isUsed()) {
-            throw new InvalidPasswordResetCodeException("Reset code has already been used");
-        }
+    private void applyPasswordResetWithCode(String email, String code, String passwordHash) {
+        PasswordResetCode resetCode = findValidResetCode(email, code);
 
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
 
-        // Update password
-        user.setPassword(passwordEncoder.encode(newPassword));
+        // Update password and sign the user out everywhere
+        user.setPassword(passwordHash);
         userRepository.save(user);
+        tokenRevocationService.revokeAllTokens(user);
 
         // Mark code as used
         resetCode.setUsed(true);
@@ -6,6 +6,8 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import com.multi.loyaltybackend.cache.CompanyCatalogCache;
+import com.multi.loyaltybackend.cache.VoucherCatalogSnapshot;
 import com.multi.loyaltybackend.dto.CompanyFilterDTO;
 import com.multi.loyaltybackend.dto.CompanyResponseDTO;
 import com.multi.loyaltybackend.model.Company;
@@ -15,7 +17,9 @@ import com.multi.loyaltybackend.exception.CompanyNotFoundException;
 import com.multi.loyaltybackend.exception.FileStorageException;
 import com.multi.loyaltybackend.dto.VoucherDTO;
 import com.multi.loyaltybackend.model.Voucher;
+import com.multi.loyaltybackend.repository.UserRepository;
 import com.multi.loyaltybackend.repository.VoucherRepository;
+import com.multi.loyaltybackend.util.TransactionUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -29,7 +33,10 @@ import lombok.RequiredArgsConstructor;
 public class CompanyService {
     private final ImageStorageService imageStorageService;
     private final CompanyRepository companyRepository;
+    private final UserRepository userRepository;
     private final VoucherRepository voucherRepository;
+    private final VoucherCatalogSnapshot voucherCatalogSnapshot;
+    private final CompanyCatalogCache companyCatalogCache;
 
     public Page<Company> getAllCompanies(Pageable pageable) {
         Page<Company> companies = companyRepository.findAll(pageable);
@@ -41,21 +48,18 @@ public class CompanyService {
         return companies;
     }
 
+    /**
+     * All companies with their vouchers, served from {@link CompanyCatalogCache}
+     */
     public List<CompanyResponseDTO> getAllCompanies() {
-        List<Company> companies = companyRepository.findAll();
-
-        Set<Long> companyIds = companies.stream()
-                .map(Company::getId)
-                .collect(Collectors.toSet());
-
-        Map<Long, List<Voucher>> vouchersByCompany = voucherRepository
-                .findByCompanyIdIn(companyIds)
-                .stream()
-                .collect(Collectors.groupingBy(v -> v.getCompany().getId()));
+        return companyCatalogCache.get(imageStorageService.currentBaseUrl()).companies();
+    }
 
-        return companies.stream()
-                .map(company -> mapToDTO(company, vouchersByCompany.get(company.getId())))
-                .toList();
+    /**
+     * The company catalog snapshot together with its ETag
+     */
+    public CompanyCatalogCache.Snapshot getCompanyCatalog() {
+        return companyCatalogCache.get(imageStorageService.currentBaseUrl());
     }
 
     /**
@@ -101,6 +105,7 @@ public class CompanyService {
                 fileName = imageStorageService.storeFile(file);
                 company.setLogoFileName(fileName);
             }
+            TransactionUtils.afterCommit(companyCatalogCache::invalidate);
             return companyRepository.save(company);
         } catch (Exception e) {
             if (fileName != null) {
@@ -123,6 +128,9 @@ public class CompanyService {
             }
             company.setName(companyDetails.getName());
             Company savedCompany = companyRepository.save(company);
+            // Company names and logos are denormalized into the voucher catalog
+            TransactionUtils.afterCommit(voucherCatalogSnapshot::invalidate);
+            TransactionUtils.afterCommit(companyCatalogCache::invalidate);
             if (newFileName != null && oldFileName != null) {
                 imageStorageService.deleteFile(oldFileName);
             }
@@ -140,7 +148,10 @@ public class CompanyService {
         Company company = companyRepository.findById(id)
                 .orElseThrow(() -> new CompanyNotFoundException(id));
         String logoFileName = company.getLogoFileName();
+        userRepository.unlinkCompany(id);
         companyRepository.delete(company);
+        TransactionUtils.afterCommit(voucherCatalogSnapshot::invalidate);
+        TransactionUtils.afterCommit(companyCatalogCache::invalidate);
         if (logoFileName != null) {
             try {
                 imageStorageService.deleteFile(logoFileName);
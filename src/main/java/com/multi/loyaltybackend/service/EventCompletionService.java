@@ -0,0 +1,160 @@
+package com.multi.loyaltybackend.service;
+
+import com.multi.loyaltybackend.config.LoggingConstants;
+import com.multi.loyaltybackend.dto.response.EventCompletionResponse;
+import com.multi.loyaltybackend.exception.EventNotEndedException;
+import com.multi.loyaltybackend.exception.EventNotFoundException;
+import com.multi.loyaltybackend.model.Event;
+import com.multi.loyaltybackend.model.PointsTransactionType;
+import com.multi.loyaltybackend.model.RegistrationStatus;
+import com.multi.loyaltybackend.repository.EventRepository;
+import com.multi.loyaltybackend.repository.RegistrationRepository;
+import com.multi.loyaltybackend.repository.RegistrationUser;
+import com.multi.loyaltybackend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Completes all REGISTERED registrations of an event that has taken place and awards the
+ * event points, in one transaction.
+ * <p>
+ * Instead of completing attendees one by one, registrations are moved with set-based
+ * UPDATEs, every attendee is credited with one UPDATE per chunk of users and the ledger
+ * rows are written with batched inserts, so the cost grows with the number of chunks
+ * rather than the number of attendees. The event row is locked for the duration, so an
+ * admin request and the scheduled job cannot complete the same event twice.
+ * <p>
+ * The scheduled job is off by default; when enabled it completes events whose start lies
+ * more than the grace period in the past.
+ */
+@Slf4j
+@Service
+public class EventCompletionService {
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final EventRepository eventRepository;
+    private final RegistrationRepository registrationRepository;
+    private final UserRepository userRepository;
+    private final PointsLedgerService pointsLedgerService;
+    private final EventStatsService eventStatsService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean autoCompleteEnabled;
+    private final Duration gracePeriod;
+
+    private final Counter completedRegistrations;
+    private final Timer completions;
+
+    public EventCompletionService(EventRepository eventRepository,
+                                  RegistrationRepository registrationRepository,
+                                  UserRepository userRepository,
+                                  PointsLedgerService pointsLedgerService,
+                                  EventStatsService eventStatsService,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.event-completion.auto-complete-enabled:false}") boolean autoCompleteEnabled,
+                                  @Value("${app.event-completion.grace-period-ms:21600000}") long gracePeriodMs) {
+        this.eventRepository = eventRepository;
+        this.registrationRepository = registrationRepository;
+        this.userRepository = userRepository;
+        this.pointsLedgerService = pointsLedgerService;
+        this.eventStatsService = eventStatsService;
+        this.transactionTemplate = transactionTemplate;
+        this.autoCompleteEnabled = autoCompleteEnabled;
+        this.gracePeriod = Duration.ofMillis(gracePeriodMs);
+        this.completedRegistrations = Counter.builder("event_completion.registrations").register(meterRegistry);
+        this.completions = Timer.builder("event_completion.complete").register(meterRegistry);
+    }
+
+    /**
+     * Completes every REGISTERED registration of the event and awards its points
+     *
+     * @param eventId Event ID
+     * @param appId Application identifier (ADMIN_PANEL, API or SYSTEM)
+     * @throws EventNotFoundException if the event does not exist
+     * @throws EventNotEndedException if the event has not started yet
+     */
+    public EventCompletionResponse completeEvent(Long eventId, String appId) {
+        return completions.record(() -> {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> doCompleteEvent(eventId, appId));
+                } catch (TransientDataAccessException e) {
+                    // A registration changed status between reading and updating it
+                    if (attempt >= MAX_ATTEMPTS) {
+                        log.warn("{} {} {} ID={} failed after {} attempts",
+                                appId, LoggingConstants.COMPLETE, LoggingConstants.EVENT_ENTITY, eventId, attempt);
+                        throw e;
+                    }
+                    log.debug("Retrying completion of Event ID={} after conflict (attempt {})", eventId, attempt);
+                }
+            }
+        });
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.event-completion.interval-ms:300000}",
+            fixedDelayString = "${app.event-completion.interval-ms:300000}")
+    public void completeEndedEvents() {
+        if (!autoCompleteEnabled) {
+            return;
+        }
+        List<Long> eventIds = eventRepository.findEndedEventIdsWithRegistered(LocalDateTime.now().minus(gracePeriod));
+        for (Long eventId : eventIds) {
+            try {
+                completeEvent(eventId, LoggingConstants.SYSTEM);
+            } catch (Exception e) {
+                log.error("{} Failed to complete Event ID={} - Error: {}",
+                        LoggingConstants.SYSTEM, eventId, e.getMessage());
+            }
+        }
+    }
+
+    private EventCompletionResponse doCompleteEvent(Long eventId, String appId) {
+        Event event = eventRepository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> new EventNotFoundException(eventId));
+        LocalDateTime now = LocalDateTime.now();
+        if (event.getDateTime().isAfter(now)) {
+            throw new EventNotEndedException(eventId, event.getDateTime());
+        }
+
+        List<RegistrationUser> registrations =
+                registrationRepository.findRegistrationUsers(eventId, RegistrationStatus.REGISTERED);
+        int points = event.getPoints() != null ? event.getPoints() : 0;
+        for (int from = 0; from < registrations.size(); from += CHUNK_SIZE) {
+            List<RegistrationUser> chunk = registrations.subList(from, Math.min(from + CHUNK_SIZE, registrations.size()));
+            List<Long> registrationIds = chunk.stream().map(RegistrationUser::getId).toList();
+            if (registrationRepository.transitionStatus(registrationIds,
+                    RegistrationStatus.REGISTERED, RegistrationStatus.COMPLETED, now) != registrationIds.size()) {
+                throw new OptimisticLockingFailureException("Registrations changed during event completion");
+            }
+            // Same rule as PointsAwardService: events without points do not count towards the user's events
+            if (points > 0) {
+                List<Long> userIds = chunk.stream().map(RegistrationUser::getUserId).toList();
+                pointsLedgerService.creditAll(userIds, points, PointsTransactionType.EVENT_REWARD, eventId, event.getTitle());
+                userRepository.incrementEventCountAll(userIds);
+            }
+        }
+        eventStatsService.registrationsStatusChanged(eventId,
+                RegistrationStatus.REGISTERED, RegistrationStatus.COMPLETED, registrations.size());
+        completedRegistrations.increment(registrations.size());
+
+        long pointsAwarded = (long) points * registrations.size();
+        log.info("{} {} {} ID={} - Completed {} registrations, awarded {} points each ({} total)",
+                appId, LoggingConstants.COMPLETE, LoggingConstants.EVENT_ENTITY,
+                eventId, registrations.size(), points, pointsAwarded);
+        return new EventCompletionResponse(eventId, registrations.size(), points, pointsAwarded);
+    }
+}
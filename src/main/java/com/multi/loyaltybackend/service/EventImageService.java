@@ -0,0 +1,157 @@
+package com.multi.loyaltybackend.service;
+
+import com.multi.loyaltybackend.cache.EventDetailCache;
+import com.multi.loyaltybackend.config.LoggingConstants;
+import com.multi.loyaltybackend.model.Event;
+import com.multi.loyaltybackend.repository.EventRepository;
+import com.multi.loyaltybackend.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Stores event cover uploads and generates their resized variants in the background.
+ * <p>
+ * The original is stored synchronously so the request can reference it immediately; the
+ * files of a replaced cover are only deleted once the event referencing the new one is saved.
+ * Once the surrounding transaction commits, a list thumbnail and a detail-size variant are
+ * rendered on the bounded image executor and published onto the event. Until then, and
+ * whenever an image cannot be decoded or the executor is saturated, responses fall back to
+ * the original.
+ */
+@Slf4j
+@Service
+public class EventImageService {
+
+    private static final int THUMBNAIL_WIDTH = 400;
+    private static final int DETAIL_WIDTH = 1200;
+
+    private final ImageStorageService imageStorageService;
+    private final EventRepository eventRepository;
+    private final EventDetailCache eventDetailCache;
+    private final TaskExecutor imageProcessingExecutor;
+
+    public EventImageService(ImageStorageService imageStorageService,
+                             EventRepository eventRepository,
+                             EventDetailCache eventDetailCache,
+                             @Qualifier("imageProcessingExecutor") TaskExecutor imageProcessingExecutor) {
+        this.imageStorageService = imageStorageService;
+        this.eventRepository = eventRepository;
+        this.eventDetailCache = eventDetailCache;
+        this.imageProcessingExecutor = imageProcessingExecutor;
+    }
+
+    /**
+     * Stores a new cover for the event. The previous cover and its variants are returned, not
+     * deleted: the stored event keeps referencing them until the caller's save succeeds, after
+     * which the caller passes them to {@link #coverReplaced}.
+     *
+     * @return File names of the previous cover and its variants
+     */
+    public List<String> replaceCover(Event event, MultipartFile file) {
+        List<String> previousCover = coverFiles(event);
+        event.setFileName(imageStorageService.storeFile(file));
+        event.setThumbnailFileName(null);
+        event.setDetailFileName(null);
+        return previousCover;
+    }
+
+    /**
+     * Completes a cover replacement once the event has been saved: clears the variants of the
+     * previous cover, deletes its files after commit and queues variants for the new cover
+     */
+    public void coverReplaced(Event event, List<String> previousCover) {
+        // Variant columns are excluded from entity updates, so the save above did not clear them
+        eventRepository.clearImageVariants(event.getId(), event.getFileName());
+        TransactionUtils.afterCommit(() -> previousCover.forEach(imageStorageService::deleteFile));
+        scheduleVariants(event);
+    }
+
+    /**
+     * Deletes the event's cover and its variants from storage
+     */
+    public void deleteCover(Event event) {
+        coverFiles(event).forEach(imageStorageService::deleteFile);
+    }
+
+    private static List<String> coverFiles(Event event) {
+        return Stream.of(event.getFileName(), event.getThumbnailFileName(), event.getDetailFileName())
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Queues variant generation for a saved event's current cover, after commit
+     */
+    public void scheduleVariants(Event event) {
+        Long eventId = event.getId();
+        String fileName = event.getFileName();
+        if (fileName == null) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> {
+            try {
+                imageProcessingExecutor.execute(() -> generateVariants(eventId, fileName));
+            } catch (TaskRejectedException e) {
+                log.warn("{} Image processing queue is full - skipping variants for Event ID={}",
+                        LoggingConstants.SYSTEM, eventId);
+            }
+        });
+    }
+
+    private void generateVariants(Long eventId, String fileName) {
+        try {
+            BufferedImage original = imageStorageService.readImage(fileName);
+            if (original == null) {
+                log.warn("{} Unsupported image format for Event ID={} - File: {}", LoggingConstants.SYSTEM, eventId, fileName);
+                return;
+            }
+
+            String thumbnail = imageStorageService.storeImage(resize(original, THUMBNAIL_WIDTH), fileName, "thumb");
+            String detail = imageStorageService.storeImage(resize(original, DETAIL_WIDTH), fileName, "detail");
+
+            // Only publish if the cover was not replaced while we were rendering
+            if (eventRepository.setImageVariants(eventId, fileName, thumbnail, detail) == 0) {
+                imageStorageService.deleteFile(thumbnail);
+                imageStorageService.deleteFile(detail);
+                return;
+            }
+            eventDetailCache.invalidate(eventId);
+
+            log.info("{} Generated image variants for Event ID={} - Thumbnail: {}, Detail: {}",
+                    LoggingConstants.SYSTEM, eventId, thumbnail, detail);
+        } catch (Exception e) {
+            log.error("{} Failed to generate image variants for Event ID={} - Error: {}",
+                    LoggingConstants.SYSTEM, eventId, e.getMessage());
+        }
+    }
+
+    private static BufferedImage resize(BufferedImage source, int targetWidth) {
+        if (source.getWidth() <= targetWidth) {
+            return source;
+        }
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage resized = new BufferedImage(targetWidth, targetHeight, type);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+}
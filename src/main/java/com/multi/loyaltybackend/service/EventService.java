@@ -1,29 +1,57 @@
 package com.multi.loyaltybackend.service;
 
 
+import com.multi.loyaltybackend.cache.EventDetailCache;
+import com.multi.loyaltybackend.cache.EventGeoIndex;
+import com.multi.loyaltybackend.cache.EventSearchIndex;
+import com.multi.loyaltybackend.cache.RegisteredEventIndex;
+import com.multi.loyaltybackend.cache.UpcomingEventSnapshot;
 import com.multi.loyaltybackend.config.LoggingConstants;
+import com.multi.loyaltybackend.dto.CursorPageResponse;
 import com.multi.loyaltybackend.dto.EventFilterDTO;
 import com.multi.loyaltybackend.dto.EventRequestDTO;
 import com.multi.loyaltybackend.dto.EventResponseDTO;
+import com.multi.loyaltybackend.dto.NearbyEventResponseDTO;
 import com.multi.loyaltybackend.dto.UserDTO;
 import com.multi.loyaltybackend.model.Event;
+import com.multi.loyaltybackend.model.EventCategory;
 import com.multi.loyaltybackend.model.RegistrationStatus;
 import com.multi.loyaltybackend.model.User;
+import com.multi.loyaltybackend.repository.EventAttendee;
+import com.multi.loyaltybackend.repository.EventAttendeePreview;
 import com.multi.loyaltybackend.repository.EventRepository;
 import com.multi.loyaltybackend.repository.EventSpecifications;
+import com.multi.loyaltybackend.repository.RegistrationRepository;
 import com.multi.loyaltybackend.repository.UserRepository;
+import com.multi.loyaltybackend.util.EventFeedCursor;
+import com.multi.loyaltybackend.util.GeoUtils;
+import com.multi.loyaltybackend.util.TransactionUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,9 +59,24 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class EventService {
 
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+    private static final double MAX_NEARBY_RADIUS_KM = 100;
+    private static final int MAX_NEARBY_RESULTS = 200;
+    private static final int ATTENDEE_PREVIEW_SIZE = 5;
+    private static final int MAX_ATTENDEE_PAGE_SIZE = 100;
+
     private final EventRepository eventRepository;
     private final ImageStorageService imageStorageService;
+    private final EventImageService eventImageService;
     private final UserRepository userRepository;
+    private final RegistrationRepository registrationRepository;
+    private final RegisteredEventIndex registeredEventIndex;
+    private final UpcomingEventSnapshot upcomingEventSnapshot;
+    private final EventSearchIndex eventSearchIndex;
+    private final EventGeoIndex eventGeoIndex;
+    private final EventDetailCache eventDetailCache;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
 
     /**
      * Create event (API)
@@ -54,7 +97,11 @@ public class EventService {
                 request.category());
 
         Event event = mapRequestToEntity(request);
+        if (file != null && !file.isEmpty()) {
+            eventImageService.replaceCover(event, file);
+        }
         event = eventRepository.save(event);
+        eventImageService.scheduleVariants(event);
 
         log.info("{} Successfully created Event ID={} - Title: {}",
                 appId, event.getId(), event.getTitle());
@@ -107,7 +154,12 @@ public class EventService {
         existingEvent.setLatitude(request.latitude());
         existingEvent.setLongitude(request.longitude());
         existingEvent.setDateTime(request.dateTime());
+        boolean coverReplaced = file != null && !file.isEmpty();
+        List<String> previousCover = coverReplaced ? eventImageService.replaceCover(existingEvent, file) : List.of();
         Event updatedEvent = eventRepository.save(existingEvent);
+        if (coverReplaced) {
+            eventImageService.coverReplaced(updatedEvent, previousCover);
+        }
 
         log.info("{} Successfully updated Event ID={} - Title: {}",
                 appId, updatedEvent.getId(), updatedEvent.getTitle());
@@ -122,16 +174,249 @@ public class EventService {
         return mapEntityToResponse(event);
     }
 
+    /**
+     * Get event detail with its ETag from the detail cache, with image URLs on the current
+     * request's host. Deliberately not transactional, so a cache hit never acquires a
+     * database connection.
+     */
+    public EventDetailCache.Entry getEventDetail(Long id) {
+        return eventDetailCache.get(id, imageStorageService.currentBaseUrl(), () -> loadEventDetail(id));
+    }
+
+    /**
+     * Loads a detail response with host-relative image URLs for the cache, in a read-only
+     * transaction of its own (a call to {@link #getEventById} from here would bypass the proxy)
+     */
+    private EventResponseDTO loadEventDetail(Long id) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> {
+            Event event = eventRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Event not found with ID: " + id));
+            return mapEntityToResponse(event,
+                    loadAttendeePreviews(List.of(event), "").getOrDefault(event.getId(), List.of()), "");
+        });
+    }
+
 
     @Transactional(readOnly = true)
     public Page<EventResponseDTO> getAllEvents(String email, String search, List<String> categories, LocalDate startDate, LocalDate endDate, Pageable pageable) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found with email: " + email));
+
+        boolean fromSnapshot = canServeFromSnapshot(search, pageable);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Page<Event> events = fromSnapshot
+                ? findFeedPageInSnapshot(user, search, categories, startDate, endDate, pageable)
+                : eventRepository.findAll(buildFeedSpecification(user, search, categories, startDate, endDate), pageable);
+        sample.stop(meterRegistry.timer("event_feed.latency", "source", fromSnapshot ? "snapshot" : "database"));
+
+        Map<Long, List<UserDTO>> previews = loadAttendeePreviews(events.getContent());
+        return events.map(event -> mapEntityToResponse(event, previews.getOrDefault(event.getId(), List.of())));
+    }
+
+    /**
+     * The snapshot only knows ids, dates and categories, so orderings other than by date
+     * (or by relevance for searches) still go to the database.
+     */
+    private boolean canServeFromSnapshot(String search, Pageable pageable) {
+        if (!upcomingEventSnapshot.isReady() || (hasSearch(search) && !eventSearchIndex.isReady())) {
+            return false;
+        }
+        Sort sort = pageable.getSort();
+        return sort.isUnsorted() || isDateOrder(sort);
+    }
+
+    /**
+     * A blank search means no search on both the snapshot and the database path
+     */
+    private static boolean hasSearch(String search) {
+        return search != null && !search.isBlank();
+    }
+
+    private static boolean isDateOrder(Sort sort) {
+        return sort.equals(Sort.by("dateTime")) || sort.equals(Sort.by("dateTime", "id"));
+    }
+
+    /**
+     * Filters in memory and loads only the requested page by primary key. Searches are
+     * ordered by relevance unless the client asked for date order.
+     */
+    private Page<Event> findFeedPageInSnapshot(User user, String search, List<String> categories, LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        List<Long> ids = upcomingEventSnapshot.findUpcomingIds(
+                parseCategories(categories),
+                startDate != null ? startDate.atStartOfDay() : null,
+                endDate != null ? endDate.atTime(23, 59, 59) : null,
+                registeredEventIndex.getRegisteredEventIds(user.getId()));
+
+        List<Long> ranked = hasSearch(search) ? eventSearchIndex.search(search) : null;
+        if (hasSearch(search) && ranked == null) {
+            // No searchable tokens: matches nothing, as on the database path
+            ids = List.of();
+        } else if (ranked != null) {
+            if (isDateOrder(pageable.getSort())) {
+                Set<Long> matched = new HashSet<>(ranked);
+                ids = ids.stream().filter(matched::contains).toList();
+            } else {
+                Set<Long> upcoming = new HashSet<>(ids);
+                ids = ranked.stream().filter(upcoming::contains).toList();
+            }
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        List<Long> pageIds = ids.subList(from, to);
+
+        Map<Long, Event> loaded = eventRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        List<Event> content = pageIds.stream()
+                .map(loaded::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, ids.size());
+    }
+
+    /**
+     * Same semantics as {@link EventSpecifications#hasCategories(List)}: unknown names are
+     * ignored, and a filter with no known names matches nothing.
+     */
+    private Set<EventCategory> parseCategories(List<String> categories) {
+        if (categories == null || categories.isEmpty()) {
+            return null;
+        }
+        Set<EventCategory> parsed = EnumSet.noneOf(EventCategory.class);
+        for (String category : categories) {
+            try {
+                parsed.add(EventCategory.valueOf(category.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                // ignore unknown categories
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Get the event feed with keyset pagination on (dateTime, id).
+     * Fetches one extra row to detect the next page and never runs a count query.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<EventResponseDTO> getEventFeed(String email, String search, List<String> categories, LocalDate startDate, LocalDate endDate, String cursor, int size) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found with email: " + email));
+        EventFeedCursor position = EventFeedCursor.decode(cursor);
+        int pageSize = Math.clamp(size, 1, MAX_FEED_PAGE_SIZE);
+
+        Specification<Event> spec = buildFeedSpecification(user, search, categories, startDate, endDate);
+        if (position != null) {
+            spec = spec.and(EventSpecifications.isAfterPosition(position.dateTime(), position.id()));
+        }
+
+        List<Event> events = eventRepository.findBy(spec, query -> query
+                .sortBy(Sort.by("dateTime", "id"))
+                .limit(pageSize + 1)
+                .all());
+
+        boolean hasNext = events.size() > pageSize;
+        List<Event> pageContent = hasNext ? events.subList(0, pageSize) : events;
+        String nextCursor = null;
+        if (hasNext) {
+            Event last = pageContent.get(pageContent.size() - 1);
+            nextCursor = new EventFeedCursor(last.getDateTime(), last.getId()).encode();
+        }
+
+        return new CursorPageResponse<>(
+                mapEntitiesToResponses(pageContent),
+                nextCursor,
+                pageSize,
+                hasNext);
+    }
+
+    /**
+     * Get upcoming events within a radius of a point, nearest first.
+     * Uses the in-memory grid index; until it is built, falls back to a bounding-box
+     * query in the database followed by an exact distance check.
+     */
+    @Transactional(readOnly = true)
+    public List<NearbyEventResponseDTO> getNearbyEvents(double latitude, double longitude, double radiusKm, int limit) {
+        // Comparisons with NaN are always false, so non-finite input must be rejected explicitly
+        if (!Double.isFinite(latitude) || !Double.isFinite(longitude)
+                || latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Invalid coordinates");
+        }
+        if (!Double.isFinite(radiusKm) || radiusKm <= 0 || radiusKm > MAX_NEARBY_RADIUS_KM) {
+            throw new IllegalArgumentException("radiusKm must be greater than 0 and at most " + (int) MAX_NEARBY_RADIUS_KM);
+        }
+        int maxResults = Math.clamp(limit, 1, MAX_NEARBY_RESULTS);
+
+        if (!eventGeoIndex.isReady() || !upcomingEventSnapshot.isReady()) {
+            return findNearbyInDatabase(latitude, longitude, radiusKm, maxResults);
+        }
+
+        List<EventGeoIndex.Match> matches = eventGeoIndex.findWithin(latitude, longitude, radiusKm).stream()
+                .filter(match -> upcomingEventSnapshot.isUpcoming(match.id()))
+                .limit(maxResults)
+                .toList();
+        Map<Long, Event> loaded = eventRepository.findAllById(matches.stream().map(EventGeoIndex.Match::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        Map<Long, List<UserDTO>> previews = loadAttendeePreviews(loaded.values());
+
+        return matches.stream()
+                .filter(match -> loaded.containsKey(match.id()))
+                .map(match -> new NearbyEventResponseDTO(
+                        mapEntityToResponse(loaded.get(match.id()), previews.getOrDefault(match.id(), List.of())),
+                        match.distanceKm()))
+                .toList();
+    }
+
+    private List<NearbyEventResponseDTO> findNearbyInDatabase(double latitude, double longitude, double radiusKm, int maxResults) {
+        Specification<Event> spec = EventSpecifications.isFutureEvent()
+                .and(EventSpecifications.withinBoundingBox(GeoUtils.boundingBox(latitude, longitude, radiusKm)));
+
+        List<Map.Entry<Event, Double>> nearest = eventRepository.findAll(spec).stream()
+                .map(event -> Map.entry(event, GeoUtils.distanceKm(latitude, longitude, event.getLatitude(), event.getLongitude())))
+                .filter(entry -> entry.getValue() <= radiusKm)
+                .sorted(Map.Entry.comparingByValue())
+                .limit(maxResults)
+                .toList();
+        Map<Long, List<UserDTO>> previews = loadAttendeePreviews(nearest.stream().map(Map.Entry::getKey).toList());
+
+        return nearest.stream()
+                .map(entry -> new NearbyEventResponseDTO(
+                        mapEntityToResponse(entry.getKey(), previews.getOrDefault(entry.getKey().getId(), List.of())),
+                        entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * Get attendees of an event, optionally filtered by registration status, in registration order
+     */
+    @Transactional(readOnly = true)
+    public Page<UserDTO> getAttendees(Long eventId, String status, Pageable pageable) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new EntityNotFoundException("Event not found with ID: " + eventId);
+        }
+        RegistrationStatus registrationStatus = status != null ? RegistrationStatus.valueOf(status.toUpperCase()) : null;
+        Pageable page = PageRequest.of(pageable.getPageNumber(), Math.min(pageable.getPageSize(), MAX_ATTENDEE_PAGE_SIZE));
+
+        return registrationRepository.findAttendeesByEventId(eventId, registrationStatus, page)
+                .map(this::mapAttendee);
+    }
+
+    private Specification<Event> buildFeedSpecification(User user, String search, List<String> categories, LocalDate startDate, LocalDate endDate) {
         Specification<Event> spec = Specification.where(null);
 
 
-        if (search != null) {
-            spec = spec.and(EventSpecifications.searchContains(search));
+        if (hasSearch(search)) {
+            if (!EventSearchIndex.isSearchable(search)) {
+                // Same rule as the index: a query without searchable tokens matches nothing
+                spec = spec.and(EventSpecifications.idIn(List.of()));
+            } else {
+                List<Long> matched = eventSearchIndex.isReady() ? eventSearchIndex.search(search) : null;
+                spec = spec.and(matched != null
+                        ? EventSpecifications.idIn(matched)
+                        : EventSpecifications.searchContains(search));
+            }
         }
 
         if (categories != null && !categories.isEmpty()) {
@@ -147,13 +432,12 @@ public class EventService {
         }
 
         Specification<Event> baseSpec = EventSpecifications.isFutureEvent();
-        Specification<Event> combinedSpec = baseSpec.and(EventSpecifications.isNotRegisteredBy(user.getId()));
+        Specification<Event> combinedSpec = baseSpec.and(
+                EventSpecifications.idNotIn(registeredEventIndex.getRegisteredEventIds(user.getId())));
         if (spec != null) {
             combinedSpec = combinedSpec.and(spec);
         }
-        Page<Event> events = eventRepository.findAll(combinedSpec, pageable);
-
-        return events.map(this::mapEntityToResponse);
+        return combinedSpec;
     }
 
     /**
@@ -184,6 +468,7 @@ public class EventService {
                 event.getTitle());
 
         eventRepository.deleteById(id);
+        TransactionUtils.afterCommit(() -> eventImageService.deleteCover(event));
 
         log.info("{} Successfully deleted Event ID={}", appId, id);
     }
@@ -253,10 +538,74 @@ public class EventService {
         return event;
     }
 
+    /**
+     * Loads the registered-attendee preview of every given event with a single query
+     */
+    private Map<Long, List<UserDTO>> loadAttendeePreviews(Collection<Event> events) {
+        return loadAttendeePreviews(events, imageStorageService.currentBaseUrl());
+    }
+
+    private Map<Long, List<UserDTO>> loadAttendeePreviews(Collection<Event> events, String baseUrl) {
+        if (events.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> eventIds = events.stream().map(Event::getId).toList();
+        return registrationRepository.findAttendeePreviews(eventIds, RegistrationStatus.REGISTERED, ATTENDEE_PREVIEW_SIZE)
+                .stream()
+                .collect(Collectors.groupingBy(EventAttendeePreview::getEventId,
+                        Collectors.mapping(attendee -> mapAttendee(attendee, baseUrl), Collectors.toList())));
+    }
+
+    private List<EventResponseDTO> mapEntitiesToResponses(List<Event> events) {
+        Map<Long, List<UserDTO>> previews = loadAttendeePreviews(events);
+        return events.stream()
+                .map(event -> mapEntityToResponse(event, previews.getOrDefault(event.getId(), List.of())))
+                .toList();
+    }
+
+    /**
+     * Variants are written by the image pipeline itself, so their URLs skip the disk check;
+     * until a variant is ready the original is served instead
+     */
+    private String variantUrl(String variantFileName, String originalFileName, String baseUrl) {
+        return variantFileName != null
+                ? imageStorageService.getFileUrl(variantFileName, baseUrl)
+                : imageStorageService.getFileUrl(originalFileName, baseUrl);
+    }
+
+    private UserDTO mapAttendee(EventAttendee attendee) {
+        return mapAttendee(attendee, imageStorageService.currentBaseUrl());
+    }
+
+    private UserDTO mapAttendee(EventAttendee attendee, String baseUrl) {
+        return UserDTO.builder()
+                .id(attendee.getUserId())
+                .fileName(imageStorageService.getFileUrl(attendee.getFileName(), baseUrl))
+                .status(attendee.getStatus().toString())
+                .build();
+    }
+
     private EventResponseDTO mapEntityToResponse(Event event) {
+        return mapEntityToResponse(event, loadAttendeePreviews(List.of(event)).getOrDefault(event.getId(), List.of()));
+    }
+
+    /**
+     * Maps an event with a capped preview of its registered attendees; the full list is
+     * served by {@link #getAttendees(Long, String, Pageable)}
+     */
+    private EventResponseDTO mapEntityToResponse(Event event, List<UserDTO> attendeePreview) {
+        return mapEntityToResponse(event, attendeePreview, imageStorageService.currentBaseUrl());
+    }
+
+    /**
+     * Image URLs are built on the given base URL; an empty one gives host-relative URLs
+     */
+    private EventResponseDTO mapEntityToResponse(Event event, List<UserDTO> attendeePreview, String baseUrl) {
         return new EventResponseDTO(
                 event.getId(),
-                (imageStorageService.getFilePath(event.getFileName())),
+                (imageStorageService.getFilePath(event.getFileName(), baseUrl)),
+                variantUrl(event.getThumbnailFileName(), event.getFileName(), baseUrl),
+                variantUrl(event.getDetailFileName(), event.getFileName(), baseUrl),
                 event.getTitle(),
                 event.getShortDescription(),
                 event.getDescription(),
@@ -265,20 +614,14 @@ public class EventService {
                 event.getLatitude(),
                 event.getLongitude(),
                 event.getDateTime(),
-                eventRepository.countRegistrationsForEventWithStatus(event.getId(), RegistrationStatus.PENDING),
-                eventRepository.countRegistrationsForEventWithStatus(event.getId(), RegistrationStatus.REGISTERED),
-                eventRepository.countRegistrationsForEventWithStatus(event.getId(), RegistrationStatus.COMPLETED),
-                eventRepository.countRegistrationsForEventWithStatus(event.getId(), RegistrationStatus.CANCELLED),
+                event.getParticipantsPending(),
+                event.getParticipantsRegistered(),
+                event.getParticipantsCompleted(),
+                event.getParticipantsCancelled(),
                 event.getMaxParticipants(),
                 event.getCreatedAt(),
                 event.getUpdatedAt(),
-                event.getUsers().stream()
-                        .filter(registration -> registration.getStatus() == RegistrationStatus.REGISTERED)
-                        .map(registration -> UserDTO.builder()
-                        .id(registration.getUser().getId())
-                        .fileName(imageStorageService.getFilePath(registration.getUser().getFileName()))
-                        .status(registration.getStatus().toString())
-                        .build()).collect(Collectors.toList())
+                attendeePreview
         );
     }
 }
\ No newline at end of file
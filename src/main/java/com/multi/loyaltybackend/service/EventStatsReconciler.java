@@ -0,0 +1,77 @@
+package com.multi.loyaltybackend.service;
+
+import com.multi.loyaltybackend.config.LoggingConstants;
+import com.multi.loyaltybackend.model.RegistrationStatus;
+import com.multi.loyaltybackend.repository.EventParticipantCounters;
+import com.multi.loyaltybackend.repository.EventRegistrationCount;
+import com.multi.loyaltybackend.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Background job that repairs drift between the denormalized event counters and the
+ * registrations table (e.g. after cascading user deletes or rows written outside the services).
+ * <p>
+ * A cheap unlocked pass finds candidate events; each candidate is then re-checked and
+ * repaired under a row lock by {@link EventStatsService#repairCounters(Long)}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventStatsReconciler {
+
+    private final EventRepository eventRepository;
+    private final EventStatsService eventStatsService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.event-stats.reconcile-interval-ms:600000}",
+            fixedDelayString = "${app.event-stats.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        Map<Long, Map<RegistrationStatus, Integer>> actual = new HashMap<>();
+        for (EventRegistrationCount row : eventRepository.countAllRegistrationsByStatus()) {
+            actual.computeIfAbsent(row.getEventId(), id -> new EnumMap<>(RegistrationStatus.class))
+                    .put(row.getStatus(), row.getTotal().intValue());
+        }
+
+        int repaired = 0;
+        for (EventParticipantCounters stored : eventRepository.findAllParticipantCounters()) {
+            Map<RegistrationStatus, Integer> counts = actual.getOrDefault(stored.getId(), Map.of());
+            if (matches(stored, counts)) {
+                continue;
+            }
+            try {
+                if (eventStatsService.repairCounters(stored.getId())) {
+                    repaired++;
+                }
+            } catch (Exception e) {
+                log.error("{} Failed to repair registration counters for Event ID={} - Error: {}",
+                        LoggingConstants.SYSTEM, stored.getId(), e.getMessage());
+            }
+        }
+
+        if (repaired > 0) {
+            log.info("{} Repaired registration counters for {} events", LoggingConstants.SYSTEM, repaired);
+        }
+    }
+
+    private boolean matches(EventParticipantCounters stored, Map<RegistrationStatus, Integer> counts) {
+        return Objects.equals(stored.getParticipantsPending(), counts.getOrDefault(RegistrationStatus.PENDING, 0))
+                && Objects.equals(stored.getParticipantsRegistered(), counts.getOrDefault(RegistrationStatus.REGISTERED, 0))
+                && Objects.equals(stored.getParticipantsCompleted(), counts.getOrDefault(RegistrationStatus.COMPLETED, 0))
+                && Objects.equals(stored.getParticipantsCancelled(), counts.getOrDefault(RegistrationStatus.CANCELLED, 0));
+    }
+}
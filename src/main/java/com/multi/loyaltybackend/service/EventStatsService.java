@@ -0,0 +1,126 @@
+package com.multi.loyaltybackend.service;
+
+import com.multi.loyaltybackend.cache.EventDetailCache;
+import com.multi.loyaltybackend.model.Event;
+import com.multi.loyaltybackend.model.RegistrationStatus;
+import com.multi.loyaltybackend.repository.EventRegistrationCount;
+import com.multi.loyaltybackend.repository.EventRepository;
+import com.multi.loyaltybackend.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the denormalized per-event registration counters stored on {@link Event}.
+ * <p>
+ * Every registration write adjusts the counters with a single relative UPDATE inside
+ * the caller's transaction, so reads never need to count the registrations table.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventStatsService {
+
+    private final EventRepository eventRepository;
+    private final EventDetailCache eventDetailCache;
+
+    /**
+     * Records a newly created registration
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrationAdded(Long eventId, RegistrationStatus status) {
+        adjust(eventId, status, 1);
+    }
+
+    /**
+     * Moves a registration from one status counter to another
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrationStatusChanged(Long eventId, RegistrationStatus oldStatus, RegistrationStatus newStatus) {
+        if (oldStatus == newStatus) {
+            return;
+        }
+        adjust(eventId, oldStatus, -1);
+        adjust(eventId, newStatus, 1);
+    }
+
+    /**
+     * Moves several registrations of the same event from one status counter to another
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrationsStatusChanged(Long eventId, RegistrationStatus oldStatus, RegistrationStatus newStatus, int count) {
+        if (oldStatus == newStatus || count == 0) {
+            return;
+        }
+        adjust(eventId, oldStatus, -count);
+        adjust(eventId, newStatus, count);
+    }
+
+    /**
+     * Records a deleted registration
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrationRemoved(Long eventId, RegistrationStatus status) {
+        adjust(eventId, status, -1);
+    }
+
+    /**
+     * Recomputes the counters of a single event from the registrations table.
+     * The event row is locked so concurrent registration writes cannot interleave.
+     *
+     * @return true if the stored counters had drifted and were repaired
+     */
+    @Transactional
+    public boolean repairCounters(Long eventId) {
+        Event event = eventRepository.findByIdForUpdate(eventId).orElse(null);
+        if (event == null) {
+            return false;
+        }
+
+        Map<RegistrationStatus, Integer> actual = new EnumMap<>(RegistrationStatus.class);
+        List<EventRegistrationCount> rows = eventRepository.countRegistrationsByStatus(List.of(eventId));
+        rows.forEach(row -> actual.put(row.getStatus(), row.getTotal().intValue()));
+
+        int pending = actual.getOrDefault(RegistrationStatus.PENDING, 0);
+        int registered = actual.getOrDefault(RegistrationStatus.REGISTERED, 0);
+        int completed = actual.getOrDefault(RegistrationStatus.COMPLETED, 0);
+        int cancelled = actual.getOrDefault(RegistrationStatus.CANCELLED, 0);
+
+        if (event.getParticipantsPending() == pending
+                && event.getParticipantsRegistered() == registered
+                && event.getParticipantsCompleted() == completed
+                && event.getParticipantsCancelled() == cancelled) {
+            return false;
+        }
+
+        log.warn("Repairing registration counters for Event ID={} - stored [{}, {}, {}, {}], actual [{}, {}, {}, {}]",
+                eventId,
+                event.getParticipantsPending(), event.getParticipantsRegistered(),
+                event.getParticipantsCompleted(), event.getParticipantsCancelled(),
+                pending, registered, completed, cancelled);
+
+        eventRepository.setParticipantCounters(eventId, pending, registered, completed, cancelled);
+        TransactionUtils.afterCommit(() -> eventDetailCache.invalidate(eventId));
+        return true;
+    }
+
+    private void adjust(Long eventId, RegistrationStatus status, int delta) {
+        if (status == null) {
+            return;
+        }
+        switch (status) {
+            case PENDING -> eventRepository.adjustParticipantsPending(eventId, delta);
+            case REGISTERED -> eventRepository.adjustParticipantsRegistered(eventId, delta);
+            case COMPLETED -> eventRepository.adjustParticipantsCompleted(eventId, delta);
+            case CANCELLED -> eventRepository.adjustParticipantsCancelled(eventId, delta);
+        }
+        // Counters and the attendee preview of the cached detail response are now stale
+        TransactionUtils.afterCommit(() -> eventDetailCache.invalidate(eventId));
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.nio.file.*;
@@ -40,15 +42,56 @@ public class ImageStorageService {
         }
     }
 
+    /**
+     * Decodes a stored image
+     *
+     * @return The image, or null if the format is not supported
+     */
+    public BufferedImage readImage(String fileName) {
+        try {
+            return ImageIO.read(storageDir.resolve(fileName).normalize().toFile());
+        } catch (IOException e) {
+            throw new FileStorageException("ფაილის წაკითხვისას მოხდა შეცდომა", e);
+        }
+    }
+
+    /**
+     * Stores a rendered variant of a stored image next to it, e.g. {@code <name>-thumb.jpg}.
+     * Images with transparency are written as PNG, everything else as JPEG.
+     *
+     * @return The variant's file name
+     */
+    public String storeImage(BufferedImage image, String sourceFileName, String variant) {
+        String format = image.getColorModel().hasAlpha() ? "png" : "jpg";
+        String baseName = sourceFileName.contains(".")
+                ? sourceFileName.substring(0, sourceFileName.lastIndexOf('.'))
+                : sourceFileName;
+        String fileName = baseName + "-" + variant + "." + format;
+
+        try {
+            if (!ImageIO.write(image, format, storageDir.resolve(fileName).toFile())) {
+                throw new FileStorageException("ფაილის შენახვისას მოხდა შეცდომა");
+            }
+            return fileName;
+        } catch (IOException e) {
+            throw new FileStorageException("ფაილის შენახვისას მოხდა შეცდომა", e);
+        }
+    }
+
     public String getFilePath(String fileName) {
+        return getFilePath(fileName, currentBaseUrl());
+    }
+
+    /**
+     * Like {@link #getFilePath(String)}, but builds the URL on the given base URL; an empty
+     * base URL gives a host-relative URL
+     */
+    public String getFilePath(String fileName, String baseUrl) {
         if (fileName == null) {
             return null;
         }
 
         Path path = storageDir.resolve(fileName).normalize();
-        String baseUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
-                .build()
-                .toUriString();
 
         try {
             Resource resource = new UrlResource(path.toUri());
@@ -62,6 +105,42 @@ public class ImageStorageService {
         }
     }
 
+    /**
+     * Builds the public URL of a stored file without checking that it exists on disk.
+     * Meant for lists where a per-item file system check is too expensive.
+     */
+    public String getFileUrl(String fileName) {
+        return getFileUrl(fileName, currentBaseUrl());
+    }
+
+    /**
+     * Like {@link #getFileUrl(String)}, but builds the URL on the given base URL; an empty
+     * base URL gives a host-relative URL. Responses cached across requests store
+     * host-relative URLs and resolve them per request with {@link #toAbsoluteUrl}.
+     */
+    public String getFileUrl(String fileName, String baseUrl) {
+        if (fileName == null) {
+            return null;
+        }
+        return baseUrl + "/api/images/" + fileName;
+    }
+
+    /**
+     * Resolves a host-relative URL built with an empty base URL against the given base URL
+     */
+    public static String toAbsoluteUrl(String relativeUrl, String baseUrl) {
+        return relativeUrl != null ? baseUrl + relativeUrl : null;
+    }
+
+    /**
+     * Base URL of the current request, which public file URLs are built on
+     */
+    public String currentBaseUrl() {
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+                .build()
+                .toUriString();
+    }
+
     public void deleteFile(String fileName) {
         try {
             Path path = storageDir.resolve(fileName).normalize();
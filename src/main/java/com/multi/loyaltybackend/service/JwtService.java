@@ -1,7 +1,13 @@
 package com.multi.loyaltybackend.service;
 
+import com.multi.loyaltybackend.cache.VerifiedTokenCache;
+import com.multi.loyaltybackend.model.Role;
+import com.multi.loyaltybackend.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -10,66 +16,102 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+    private static final String TOKEN_VERSION_CLAIM = "ver";
 
-    @Value("${jwt.expiration-ms}")
-    private long jwtExpiration;
+    /**
+     * Claims of a token whose signature and expiry have been verified. The user id, role and
+     * token version are null for tokens issued before they were added. The token id is the
+     * jti claim, or the signature for tokens issued before jti was added.
+     */
+    public record TokenClaims(String tokenId, String subject, Long userId, Role role, Integer tokenVersion,
+                              Instant issuedAt, Instant expiresAt) {
+    }
+
+    private final long jwtExpiration;
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public JwtService(@Value("${jwt.secret}") String secretKey,
+                      @Value("${jwt.expiration-ms}") long jwtExpiration,
+                      VerifiedTokenCache verifiedTokenCache) {
+        this.jwtExpiration = jwtExpiration;
+        // Decoding the secret and building the parser is done once; the parser is thread-safe
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    /**
+     * Verifies the token's signature and expiry with a single parse and returns its claims.
+     * Tokens verified before are answered from {@link VerifiedTokenCache} until they expire.
+     *
+     * @throws JwtException if the token is expired, malformed or not signed with our key
+     * @throws IllegalArgumentException if the token is empty
+     */
+    public TokenClaims verify(String token) {
+        TokenClaims cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("JWT token has no expiration");
+        }
+        TokenClaims verified = new TokenClaims(
+                claims.getId() != null ? claims.getId() : token.substring(token.lastIndexOf('.') + 1),
+                claims.getSubject(),
+                claims.get(USER_ID_CLAIM, Long.class),
+                role(claims.get(ROLE_CLAIM, String.class)),
+                claims.get(TOKEN_VERSION_CLAIM, Integer.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration().toInstant());
+        verifiedTokenCache.put(token, verified);
+        return verified;
     }
 
-    public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+    /**
+     * Access token for the user, carrying the id and role so requests can be authenticated from the claims alone,
+     * and the token version so all of the user's tokens can be revoked at once
+     */
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(ROLE_CLAIM, user.getRole().name());
+        claims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion());
+        return generateToken(claims, user);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
         return Jwts.builder()
                 .setClaims(extraClaims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static Role role(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Role.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
-}
\ No newline at end of file
+}
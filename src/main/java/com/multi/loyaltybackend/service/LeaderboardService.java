@@ -0,0 +1,58 @@
+package com.multi.loyaltybackend.service;
+
+import com.multi.loyaltybackend.cache.PointsLeaderboard;
+import com.multi.loyaltybackend.dto.response.LeaderboardEntryResponse;
+import com.multi.loyaltybackend.dto.response.LeaderboardRankResponse;
+import com.multi.loyaltybackend.dto.response.LeaderboardResponse;
+import com.multi.loyaltybackend.exception.UserNotFoundException;
+import com.multi.loyaltybackend.model.LeaderboardPeriod;
+import com.multi.loyaltybackend.model.User;
+import com.multi.loyaltybackend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Points leaderboards answered from the in-memory {@link PointsLeaderboard}
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class LeaderboardService {
+    private static final int MAX_LIMIT = 100;
+
+    private final PointsLeaderboard pointsLeaderboard;
+    private final UserRepository userRepository;
+
+    /**
+     * Top users of the period; only the returned users are loaded from the database
+     */
+    public LeaderboardResponse getTop(LeaderboardPeriod period, int limit) {
+        List<PointsLeaderboard.Ranking> rankings = pointsLeaderboard.top(period, Math.max(1, Math.min(limit, MAX_LIMIT)));
+        Map<Long, User> users = userRepository.findAllById(rankings.stream().map(PointsLeaderboard.Ranking::userId).toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<LeaderboardEntryResponse> entries = rankings.stream()
+                .filter(ranking -> users.containsKey(ranking.userId()))
+                .map(ranking -> new LeaderboardEntryResponse(ranking.rank(), ranking.userId(),
+                        users.get(ranking.userId()).getFullName(), ranking.points()))
+                .toList();
+        return new LeaderboardResponse(period, period.windowStart(LocalDateTime.now()),
+                pointsLeaderboard.rankedUsers(period), entries);
+    }
+
+    public LeaderboardRankResponse getRank(String email, LeaderboardPeriod period) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UserNotFoundException(email));
+        PointsLeaderboard.Ranking ranking = pointsLeaderboard.rankOf(period, user.getId());
+        return new LeaderboardRankResponse(period, period.windowStart(LocalDateTime.now()),
+                ranking.rank(), ranking.points(), pointsLeaderboard.rankedUsers(period));
+    }
+}
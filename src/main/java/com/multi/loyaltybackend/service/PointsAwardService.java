@@ -2,6 +2,7 @@ package com.multi.loyaltybackend.service;
 
 import com.multi.loyaltybackend.config.LoggingConstants;
 import com.multi.loyaltybackend.model.Event;
+import com.multi.loyaltybackend.model.PointsTransactionType;
 import com.multi.loyaltybackend.model.Registration;
 import com.multi.loyaltybackend.model.User;
 import com.multi.loyaltybackend.repository.UserRepository;
@@ -19,6 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class PointsAwardService {
 
     private final UserRepository userRepository;
+    private final PointsLedgerService pointsLedgerService;
 
     /**
      * Awards event points to user when registration is completed (Admin Panel)
@@ -49,13 +51,9 @@ public class PointsAwardService {
 
         int pointsAwarded = event.getPoints();
         int currentPoints = getOrDefault(user.getTotalPoints(), 0);
-        int newTotalPoints = currentPoints + pointsAwarded;
-        user.setTotalPoints(newTotalPoints);
-
-        int currentEventCount = getOrDefault(user.getEventCount(), 0);
-        user.setEventCount(currentEventCount + 1);
-
-        userRepository.save(user);
+        int newTotalPoints = pointsLedgerService.credit(user.getId(), pointsAwarded,
+                PointsTransactionType.EVENT_REWARD, event.getId(), event.getTitle());
+        userRepository.incrementEventCount(user.getId());
 
         log.info("{} {} - Awarded {} points to User ID={} (total: {} -> {}) for Event ID={}",
                 appId,
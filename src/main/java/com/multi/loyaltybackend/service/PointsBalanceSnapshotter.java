@@ -0,0 +1,117 @@
+package com.multi.loyaltybackend.service;
+
+import com.multi.loyaltybackend.config.LoggingConstants;
+import com.multi.loyaltybackend.model.PointsBalanceSnapshot;
+import com.multi.loyaltybackend.model.PointsTransaction;
+import com.multi.loyaltybackend.model.PointsTransactionType;
+import com.multi.loyaltybackend.model.User;
+import com.multi.loyaltybackend.repository.PointsBalanceSnapshotRepository;
+import com.multi.loyaltybackend.repository.PointsTransactionRepository;
+import com.multi.loyaltybackend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Background job that folds new ledger entries into per-user balance snapshots, so a
+ * balance read only has to sum the short tail that is not folded yet.
+ * <p>
+ * Ledger ids are not handed out in commit order, so the job does not advance an id
+ * watermark. It picks up whatever entries are committed and still unfolded, adds them to
+ * the snapshots and flags them as folded in the same transaction; entries that commit
+ * later are simply found by a later run. On startup it also backfills an opening-balance
+ * entry for users whose points predate the ledger.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PointsBalanceSnapshotter {
+
+    private final PointsTransactionRepository pointsTransactionRepository;
+    private final PointsBalanceSnapshotRepository pointsBalanceSnapshotRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.points.snapshot-batch-size:5000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOpeningBalances() {
+        Integer backfilled = transactionTemplate.execute(status -> {
+            List<Long> userIds = pointsTransactionRepository.findUserIdsWithoutLedger();
+            Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+            pointsTransactionRepository.saveAll(users.values().stream()
+                    .map(user -> PointsTransaction.builder()
+                            .userId(user.getId())
+                            .amount(user.getTotalPoints())
+                            .type(PointsTransactionType.OPENING_BALANCE)
+                            .description("Balance before ledger")
+                            .build())
+                    .toList());
+            return users.size();
+        });
+        if (backfilled != null && backfilled > 0) {
+            log.info("{} Backfilled opening ledger balances for {} users", LoggingConstants.SYSTEM, backfilled);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.points.snapshot-interval-ms:3600000}",
+            fixedDelayString = "${app.points.snapshot-interval-ms:3600000}")
+    public void snapshot() {
+        int updated = 0;
+        int folded;
+        do {
+            Integer batch = transactionTemplate.execute(this::foldBatch);
+            folded = batch != null ? batch : 0;
+            updated += folded;
+        } while (folded == batchSize);
+
+        if (updated > 0) {
+            log.info("{} Folded {} ledger entries into points balance snapshots", LoggingConstants.SYSTEM, updated);
+        }
+    }
+
+    private int foldBatch(TransactionStatus status) {
+        List<PointsTransaction> entries = pointsTransactionRepository
+                .findByFoldedFalseOrderById(PageRequest.of(0, batchSize));
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        // Claim the entries first: if another instance folded some of them meanwhile, back off
+        List<Long> ids = entries.stream().map(PointsTransaction::getId).toList();
+        if (pointsTransactionRepository.markFolded(ids) != ids.size()) {
+            log.warn("{} Ledger entries were folded concurrently, skipping this batch", LoggingConstants.SYSTEM);
+            status.setRollbackOnly();
+            return 0;
+        }
+
+        Map<Long, Long> deltas = entries.stream().collect(Collectors.groupingBy(
+                PointsTransaction::getUserId, Collectors.summingLong(PointsTransaction::getAmount)));
+        Map<Long, PointsBalanceSnapshot> snapshots = pointsBalanceSnapshotRepository.findAllById(deltas.keySet())
+                .stream()
+                .collect(Collectors.toMap(PointsBalanceSnapshot::getUserId, Function.identity()));
+
+        deltas.forEach((userId, delta) -> {
+            PointsBalanceSnapshot snapshot = snapshots.computeIfAbsent(userId, id ->
+                    PointsBalanceSnapshot.builder().userId(id).balance(0).build());
+            snapshot.setBalance(Math.toIntExact(snapshot.getBalance() + delta));
+        });
+        pointsBalanceSnapshotRepository.saveAll(snapshots.values());
+        return entries.size();
+    }
+}
@@ -0,0 +1,201 @@
+package com.multi.loyaltybackend.service;
+
+import com.multi.loyaltybackend.cache.PointsLeaderboard;
+import com.multi.loyaltybackend.exception.InsufficientPointsException;
+import com.multi.loyaltybackend.model.PointsBalanceSnapshot;
+import com.multi.loyaltybackend.model.PointsTransaction;
+import com.multi.loyaltybackend.model.PointsTransactionType;
+import com.multi.loyaltybackend.repository.PointsBalanceSnapshotRepository;
+import com.multi.loyaltybackend.repository.PointsTransactionRepository;
+import com.multi.loyaltybackend.repository.UserRepository;
+import com.multi.loyaltybackend.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single entry point for changing a user's points.
+ * <p>
+ * Every change appends a {@link PointsTransaction} and applies the same amount to the
+ * cached {@code User.totalPoints} projection with a relative UPDATE, inside the caller's
+ * transaction. The authoritative balance is the latest {@link PointsBalanceSnapshot}
+ * plus the ledger entries not yet folded into it. Committed changes are forwarded to the
+ * {@link PointsLeaderboard}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PointsLedgerService {
+
+    private final PointsTransactionRepository pointsTransactionRepository;
+    private final PointsBalanceSnapshotRepository pointsBalanceSnapshotRepository;
+    private final UserRepository userRepository;
+    private final PointsLeaderboard pointsLeaderboard;
+
+    /**
+     * A ledger change to apply as part of a batch
+     */
+    public record Entry(Long userId, int amount, PointsTransactionType type, Long referenceId, String description) {
+    }
+
+    /**
+     * Adds points to a user
+     *
+     * @return The new cached balance
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int credit(Long userId, int amount, PointsTransactionType type, Long referenceId, String description) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Credit amount must be non-negative");
+        }
+        userRepository.adjustPoints(userId, amount);
+        append(new Entry(userId, amount, type, referenceId, description));
+        return currentPoints(userId);
+    }
+
+    /**
+     * Deducts points from a user only if the balance covers them
+     *
+     * @return The new cached balance
+     * @throws InsufficientPointsException if the balance is too low; nothing is recorded
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int debit(Long userId, int amount, PointsTransactionType type, Long referenceId, String description) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Debit amount must be non-negative");
+        }
+        if (userRepository.debitPoints(userId, amount) == 0) {
+            throw new InsufficientPointsException(amount, currentPoints(userId));
+        }
+        append(new Entry(userId, -amount, type, referenceId, description));
+        return currentPoints(userId);
+    }
+
+    /**
+     * Credits several users at once; ledger rows are written with batched inserts
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void creditAll(List<Entry> entries) {
+        for (Entry entry : entries) {
+            if (entry.amount() < 0) {
+                throw new IllegalArgumentException("Credit amount must be non-negative");
+            }
+            userRepository.adjustPoints(entry.userId(), entry.amount());
+        }
+        appendAll(entries);
+    }
+
+    /**
+     * Credits the same amount to several users: balances are raised with a single update
+     * and ledger rows are written with batched inserts
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void creditAll(Collection<Long> userIds, int amount, PointsTransactionType type, Long referenceId, String description) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Credit amount must be non-negative");
+        }
+        if (userIds.isEmpty()) {
+            return;
+        }
+        userRepository.adjustPointsAll(userIds, amount);
+        appendAll(userIds.stream()
+                .map(userId -> new Entry(userId, amount, type, referenceId, description))
+                .toList());
+    }
+
+    /**
+     * Debits several entries in one step: each user's total is deducted with a single
+     * conditional update and ledger rows are written with batched inserts. Entry amounts
+     * are the positive number of points to deduct.
+     *
+     * @throws InsufficientPointsException if a user's balance does not cover their total; nothing is recorded
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void debitAll(List<Entry> entries) {
+        Map<Long, Integer> totals = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            if (entry.amount() < 0) {
+                throw new IllegalArgumentException("Debit amount must be non-negative");
+            }
+            totals.merge(entry.userId(), entry.amount(), Integer::sum);
+        }
+        totals.forEach((userId, total) -> {
+            if (userRepository.debitPoints(userId, total) == 0) {
+                throw new InsufficientPointsException(total, currentPoints(userId));
+            }
+        });
+        appendAll(entries.stream()
+                .map(entry -> new Entry(entry.userId(), -entry.amount(), entry.type(),
+                        entry.referenceId(), entry.description()))
+                .toList());
+    }
+
+    /**
+     * Records points that were already set on a newly created user (e.g. a sign-up bonus),
+     * without touching the cached balance
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordInitialBalance(Long userId, int amount, PointsTransactionType type, String description) {
+        if (amount != 0) {
+            append(new Entry(userId, amount, type, null, description));
+        }
+    }
+
+    /**
+     * Balance from the ledger: the user's snapshot plus the entries not yet folded into it
+     */
+    @Transactional(readOnly = true)
+    public int getBalance(Long userId) {
+        return Math.toIntExact(pointsTransactionRepository.findBalanceByUserId(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<PointsTransaction> getTransactions(Long userId, Pageable pageable) {
+        return pointsTransactionRepository.findByUserIdOrderByIdDesc(userId, pageable);
+    }
+
+    /**
+     * Removes a user's ledger and snapshot (user deletion)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteLedger(Long userId) {
+        pointsTransactionRepository.deleteByUserId(userId);
+        pointsBalanceSnapshotRepository.deleteByUserId(userId);
+        TransactionUtils.afterCommit(() -> pointsLeaderboard.remove(userId));
+    }
+
+    private void append(Entry entry) {
+        appendAll(List.of(entry));
+    }
+
+    private void appendAll(List<Entry> entries) {
+        pointsTransactionRepository.saveAll(entries.stream().map(this::toTransaction).toList());
+        LocalDateTime at = LocalDateTime.now();
+        TransactionUtils.afterCommit(() -> entries.forEach(entry ->
+                pointsLeaderboard.apply(entry.userId(), entry.amount(), entry.type(), at)));
+    }
+
+    private int currentPoints(Long userId) {
+        return userRepository.findTotalPointsById(userId).orElse(0);
+    }
+
+    private PointsTransaction toTransaction(Entry entry) {
+        return PointsTransaction.builder()
+                .userId(entry.userId())
+                .amount(entry.amount())
+                .type(entry.type())
+                .referenceId(entry.referenceId())
+                .description(entry.description())
+                .build();
+    }
+}
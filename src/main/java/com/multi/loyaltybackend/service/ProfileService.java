@@ -13,8 +13,11 @@ import com.multi.loyaltybackend.dto.request.ProfileUpdateRequest;
 import com.multi.loyaltybackend.model.UserVoucher;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -28,6 +31,25 @@ public class ProfileService {
     private final ProfileMapper profileMapper;
     private final UserEventMapper userEventMapper;
     private final UserVoucherMapper userVoucherMapper;
+    private final PointsLedgerService pointsLedgerService;
+    private final TokenRevocationService tokenRevocationService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Points statement from the ledger, newest entries first
+     */
+    public PointsStatementResponse getPointsStatement(String email, Pageable pageable) {
+        User user = findUserByEmail(email);
+        Page<PointsTransactionResponse> transactions = pointsLedgerService.getTransactions(user.getId(), pageable)
+                .map(transaction -> new PointsTransactionResponse(
+                        transaction.getId(),
+                        transaction.getAmount(),
+                        transaction.getType(),
+                        transaction.getReferenceId(),
+                        transaction.getDescription(),
+                        transaction.getCreatedAt()));
+        return new PointsStatementResponse(pointsLedgerService.getBalance(user.getId()), transactions);
+    }
 
     public ProfileResponse getProfile(String email) {
         User user = findUserByEmail(email);
@@ -89,8 +111,8 @@ public class ProfileService {
                 .build();
     }
 
-    @Transactional
     public void changePassword(String email, ChangePasswordRequest request) {
+        // Matching and hashing wait for the hashing pool, so they run before the transaction takes a connection
         User user = findUserByEmail(email);
 
         if (!passwordEncoder.matches(request.currentPassword(), user.getPassword())) {
@@ -101,8 +123,14 @@ public class ProfileService {
             throw new IllegalArgumentException("ახალი პაროლი და განმეორებითი პაროლი არ ემთხვევა");
         }
 
-        user.setPassword(passwordEncoder.encode(request.newPassword()));
-        userRepository.save(user);
+        String passwordHash = passwordEncoder.encode(request.newPassword());
+        transactionTemplate.executeWithoutResult(status -> {
+            User current = findUserByEmail(email);
+            current.setPassword(passwordHash);
+            userRepository.save(current);
+            // Signs the user out on every device, including this one
+            tokenRevocationService.revokeAllTokens(current);
+        });
     }
 
     private User findUserByEmail(String email) {
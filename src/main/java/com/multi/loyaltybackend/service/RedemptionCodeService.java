@@ -0,0 +1,176 @@
+package com.multi.loyaltybackend.service;
+
+import com.multi.loyaltybackend.cache.RedemptionCodeIndex;
+import com.multi.loyaltybackend.cache.VoucherCatalogSnapshot;
+import com.multi.loyaltybackend.config.LoggingConstants;
+import com.multi.loyaltybackend.dto.response.VoucherRedemptionResponse;
+import com.multi.loyaltybackend.exception.PartnerCompanyNotAssignedException;
+import com.multi.loyaltybackend.exception.RedemptionCodeNotFoundException;
+import com.multi.loyaltybackend.exception.VoucherAlreadyRedeemedException;
+import com.multi.loyaltybackend.exception.VoucherExpiredException;
+import com.multi.loyaltybackend.model.UserVoucher;
+import com.multi.loyaltybackend.model.VoucherStatus;
+import com.multi.loyaltybackend.repository.UserRepository;
+import com.multi.loyaltybackend.repository.UserVoucherRepository;
+import com.multi.loyaltybackend.util.RedemptionCodes;
+import com.multi.loyaltybackend.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Redemption codes of exchanged vouchers and the partner "scan code, redeem" path.
+ * <p>
+ * A scanned code is validated against {@link RedemptionCodeIndex} only; the status flip
+ * is a single conditional update, so a code can be redeemed at most once even when it is
+ * scanned at two tills at the same time. Partners only redeem codes of their own
+ * company's vouchers.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RedemptionCodeService {
+
+    private final UserVoucherRepository userVoucherRepository;
+    private final UserRepository userRepository;
+    private final RedemptionCodeIndex redemptionCodeIndex;
+    private final VoucherCatalogSnapshot voucherCatalogSnapshot;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Gives codes to user vouchers exchanged before codes existed, then builds the index
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Integer backfilled = transactionTemplate.execute(status -> {
+            List<UserVoucher> missing = userVoucherRepository.findByRedemptionCodeIsNull();
+            missing.forEach(userVoucher -> userVoucher.setRedemptionCode(RedemptionCodes.generate()));
+            return missing.size();
+        });
+        if (backfilled != null && backfilled > 0) {
+            log.info("{} Assigned redemption codes to {} existing user vouchers", LoggingConstants.SYSTEM, backfilled);
+        }
+        redemptionCodeIndex.rebuild();
+    }
+
+    /**
+     * Assigns codes to user vouchers written without one (set-based inserts) and indexes
+     * them once the transaction commits
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void assignCodes(Collection<UserVoucher> userVouchers) {
+        for (UserVoucher userVoucher : userVouchers) {
+            if (userVoucher.getRedemptionCode() == null) {
+                userVoucher.setRedemptionCode(RedemptionCodes.generate());
+            }
+            registerIssued(userVoucher);
+        }
+    }
+
+    /**
+     * Indexes the code of a newly exchanged voucher once the transaction commits
+     */
+    public void registerIssued(UserVoucher userVoucher) {
+        String code = userVoucher.getRedemptionCode();
+        RedemptionCodeIndex.Entry entry = new RedemptionCodeIndex.Entry(
+                userVoucher.getId(), userVoucher.getVoucher().getId(), userVoucher.getVoucher().getExpiry());
+        TransactionUtils.afterCommit(() -> redemptionCodeIndex.put(code, entry));
+    }
+
+    /**
+     * Drops the code of a redeemed voucher once the transaction commits
+     */
+    public void registerRedeemed(String code) {
+        if (code != null) {
+            TransactionUtils.afterCommit(() -> redemptionCodeIndex.remove(code));
+        }
+    }
+
+    /**
+     * Re-reads the active codes of a voucher into the index, e.g. after its expiry changed
+     */
+    public void reindexVoucher(Long voucherId) {
+        redemptionCodeIndex.replaceVoucher(voucherId,
+                userVoucherRepository.findRedemptionCodesByVoucherId(voucherId, VoucherStatus.ACTIVE));
+    }
+
+    /**
+     * Company whose vouchers the partner account may redeem
+     *
+     * @throws PartnerCompanyNotAssignedException if the account is not linked to a company
+     */
+    public Long findPartnerCompanyId(String email) {
+        return userRepository.findCompanyIdByEmail(email)
+                .orElseThrow(() -> new PartnerCompanyNotAssignedException(email));
+    }
+
+    /**
+     * Active user voucher of a code. Until the index has been built on startup, scans read
+     * the database, so valid codes are not reported as unknown.
+     */
+    private RedemptionCodeIndex.Entry lookup(String code) {
+        if (redemptionCodeIndex.isReady()) {
+            return redemptionCodeIndex.get(code);
+        }
+        return userVoucherRepository.findRedemptionCodeByCode(code, VoucherStatus.ACTIVE)
+                .map(row -> new RedemptionCodeIndex.Entry(row.getUserVoucherId(), row.getVoucherId(), row.getExpiry()))
+                .orElse(null);
+    }
+
+    /**
+     * Redeems the voucher a partner scanned
+     *
+     * @param companyId Company the code must belong to, or null to accept any company (admins)
+     * @throws RedemptionCodeNotFoundException  if the code is unknown, no longer active or of another company
+     * @throws VoucherExpiredException          if the voucher has expired
+     * @throws VoucherAlreadyRedeemedException  if a concurrent scan redeemed it first
+     */
+    @Transactional
+    public VoucherRedemptionResponse redeemByCode(String rawCode, Long companyId) {
+        String code = RedemptionCodes.normalize(rawCode);
+        RedemptionCodeIndex.Entry entry = code != null ? lookup(code) : null;
+        if (entry == null) {
+            log.warn("{} Redemption with unknown code", LoggingConstants.API);
+            throw new RedemptionCodeNotFoundException();
+        }
+
+        VoucherCatalogSnapshot.Item item = voucherCatalogSnapshot.find(entry.voucherId());
+        if (companyId != null && (item == null || !companyId.equals(item.companyId()))) {
+            // Reported like an unknown code, so other companies' codes can't be probed
+            log.warn("{} Redemption of Voucher ID={} rejected for Company ID={}",
+                    LoggingConstants.API, entry.voucherId(), companyId);
+            throw new RedemptionCodeNotFoundException();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (entry.expiry() != null && entry.expiry().isBefore(now)) {
+            throw new VoucherExpiredException(entry.voucherId());
+        }
+
+        if (userVoucherRepository.transitionStatus(
+                List.of(entry.userVoucherId()), VoucherStatus.ACTIVE, VoucherStatus.REDEEMED, now) == 0) {
+            // Redeemed by a concurrent scan, or the row is gone
+            redemptionCodeIndex.remove(code);
+            throw new VoucherAlreadyRedeemedException(entry.voucherId());
+        }
+        registerRedeemed(code);
+
+        log.info("{} Voucher redeemed by code - User Voucher ID={}, Voucher ID={}",
+                LoggingConstants.API, entry.userVoucherId(), entry.voucherId());
+        return new VoucherRedemptionResponse(
+                entry.userVoucherId(),
+                entry.voucherId(),
+                item != null ? item.title() : null,
+                item != null ? item.companyName() : null,
+                now);
+    }
+}
@@ -1,5 +1,6 @@
 package com.multi.loyaltybackend.service;
 
+import com.multi.loyaltybackend.cache.RegisteredEventIndex;
 import com.multi.loyaltybackend.config.LoggingConstants;
 import com.multi.loyaltybackend.dto.RegistrationFilterDTO;
 import com.multi.loyaltybackend.dto.RegistrationManagementDTO;
@@ -11,6 +12,7 @@ import com.multi.loyaltybackend.model.User;
 import com.multi.loyaltybackend.repository.RegistrationRepository;
 import com.multi.loyaltybackend.repository.RegistrationSpecifications;
 import com.multi.loyaltybackend.repository.UserRepository;
+import com.multi.loyaltybackend.util.TransactionUtils;
 import com.multi.loyaltybackend.validator.RegistrationValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,6 +36,8 @@ public class RegistrationManagementService {
     private final RegistrationValidator registrationValidator;
     private final RegistrationMapper registrationMapper;
     private final PointsAwardService pointsAwardService;
+    private final EventStatsService eventStatsService;
+    private final RegisteredEventIndex registeredEventIndex;
 
     /**
      * Get filtered registrations with pagination
@@ -89,6 +93,7 @@ public class RegistrationManagementService {
 
         registration.setStatus(newStatus);
         registrationRepository.save(registration);
+        eventStatsService.registrationStatusChanged(registration.getEvent().getId(), oldStatus, newStatus);
 
         log.info("{} Successfully updated Registration ID={} from {} to {}",
                 appId, registrationId, oldStatus, newStatus);
@@ -110,11 +115,12 @@ public class RegistrationManagementService {
      */
     @Transactional
     public void deleteRegistration(Long registrationId, String appId) {
-        if (!registrationRepository.existsById(registrationId)) {
-            log.warn("{} {} attempt failed - Registration ID={} not found",
-                    appId, LoggingConstants.DELETE, registrationId);
-            throw new RegistrationNotFoundException(registrationId);
-        }
+        Registration registration = registrationRepository.findById(registrationId)
+                .orElseThrow(() -> {
+                    log.warn("{} {} attempt failed - Registration ID={} not found",
+                            appId, LoggingConstants.DELETE, registrationId);
+                    return new RegistrationNotFoundException(registrationId);
+                });
 
         log.info("{} {} {} ID={}",
                 appId,
@@ -122,7 +128,11 @@ public class RegistrationManagementService {
                 LoggingConstants.REGISTRATION_ENTITY,
                 registrationId);
 
-        registrationRepository.deleteById(registrationId);
+        registrationRepository.delete(registration);
+        Long userId = registration.getUser().getId();
+        Long eventId = registration.getEvent().getId();
+        eventStatsService.registrationRemoved(eventId, registration.getStatus());
+        TransactionUtils.afterCommit(() -> registeredEventIndex.remove(userId, eventId));
 
         log.info("{} Successfully deleted Registration ID={}", appId, registrationId);
     }
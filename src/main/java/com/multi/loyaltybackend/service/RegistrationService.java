@@ -1,5 +1,6 @@
 package com.multi.loyaltybackend.service;
 
+import com.multi.loyaltybackend.cache.RegisteredEventIndex;
 import com.multi.loyaltybackend.model.User;
 import com.multi.loyaltybackend.repository.UserRepository;
 import com.multi.loyaltybackend.model.RegistrationStatus;
@@ -10,6 +11,7 @@ import com.multi.loyaltybackend.exception.ResourceNotFoundException;
 import com.multi.loyaltybackend.model.Registration;
 import com.multi.loyaltybackend.dto.RegistrationResponse;
 import com.multi.loyaltybackend.repository.RegistrationRepository;
+import com.multi.loyaltybackend.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.tomcat.util.net.openssl.ciphers.Authentication;
@@ -25,6 +27,8 @@ public class RegistrationService {
     private final RegistrationRepository eventRegistrationRepository;
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
+    private final EventStatsService eventStatsService;
+    private final RegisteredEventIndex registeredEventIndex;
 
     @Transactional
     public RegistrationResponse registerUserToEvent(String email, Long eventId, String comment) {
@@ -50,6 +54,8 @@ public class RegistrationService {
                 .build();
 
         Registration savedRegistration = eventRegistrationRepository.save(registration);
+        eventStatsService.registrationAdded(eventId, savedRegistration.getStatus());
+        TransactionUtils.afterCommit(() -> registeredEventIndex.add(user.getId(), eventId));
 
         log.info("Successfully registered user {} to event {}", email, eventId);
 
@@ -63,8 +69,10 @@ public class RegistrationService {
         Registration registration = eventRegistrationRepository.findById(registrationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Registration", "id", registrationId));
 
+        RegistrationStatus oldStatus = registration.getStatus();
         registration.setStatus(newStatus);
         Registration updatedRegistration = eventRegistrationRepository.save(registration);
+        eventStatsService.registrationStatusChanged(registration.getEvent().getId(), oldStatus, newStatus);
 
         log.info("Successfully updated registration {} status to {}", registrationId, newStatus);
 
@@ -78,8 +86,10 @@ public class RegistrationService {
         Registration registration = eventRegistrationRepository.findById(registrationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Registration", "id", registrationId));
 
+        RegistrationStatus oldStatus = registration.getStatus();
         registration.setStatus(RegistrationStatus.CANCELLED);
         eventRegistrationRepository.save(registration);
+        eventStatsService.registrationStatusChanged(registration.getEvent().getId(), oldStatus, RegistrationStatus.CANCELLED);
 
         log.info("Successfully cancelled registration {}", registrationId);
     }
@@ -0,0 +1,178 @@
+package com.multi.loyaltybackend.service;
+
+import com.multi.loyaltybackend.cache.RevokedTokenIndex;
+import com.multi.loyaltybackend.cache.TokenEpochCache;
+import com.multi.loyaltybackend.config.LoggingConstants;
+import com.multi.loyaltybackend.model.RevokedToken;
+import com.multi.loyaltybackend.model.User;
+import com.multi.loyaltybackend.repository.RevokedTokenRepository;
+import com.multi.loyaltybackend.repository.UserRepository;
+import com.multi.loyaltybackend.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Revokes access tokens before their expiry: a single token on logout, or all of a user's
+ * tokens after a password or role change.
+ * <p>
+ * Revoking all tokens increments the user's token version, which every access token carries
+ * as a claim, so one UPDATE invalidates the tokens of every device without enumerating them;
+ * see {@link TokenEpochCache}. The user's refresh tokens are deleted as well.
+ * <p>
+ * Revocations are stored in the revoked_tokens table, so they survive restarts and are seen
+ * by every instance, and are checked against the in-memory {@link RevokedTokenIndex}. The
+ * index is loaded on startup and then picks up revocations recorded by other instances
+ * every sync interval.
+ * <p>
+ * Revocation times are stamped by the revoking instance before its transaction commits, so
+ * they are neither in commit order nor on one clock. Each sync therefore reads back from the
+ * newest revocation time seen so far minus an overlap. A revocation is only missed by that
+ * read if it was stamped more than the overlap before the newest one seen, i.e. if clock skew
+ * between instances plus commit delay exceed the overlap; every full sync interval the
+ * index re-reads all unexpired revocations, which bounds how long such a miss can last.
+ * Rows and index entries are dropped once the token has expired.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RevokedTokenIndex revokedTokenIndex;
+    private final UserRepository userRepository;
+    private final TokenEpochCache tokenEpochCache;
+    private final RefreshTokenService refreshTokenService;
+    private final Duration syncOverlap;
+    private final Duration fullSyncInterval;
+    // Newest revocation time read from the table, null until a revocation was read
+    private volatile Instant watermark;
+    private volatile Instant lastFullSync;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  RevokedTokenIndex revokedTokenIndex,
+                                  UserRepository userRepository,
+                                  TokenEpochCache tokenEpochCache,
+                                  RefreshTokenService refreshTokenService,
+                                  @Value("${app.auth.revocation.sync-overlap-ms:60000}") long syncOverlapMs,
+                                  @Value("${app.auth.revocation.full-sync-interval-ms:300000}") long fullSyncIntervalMs) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.revokedTokenIndex = revokedTokenIndex;
+        this.userRepository = userRepository;
+        this.tokenEpochCache = tokenEpochCache;
+        this.refreshTokenService = refreshTokenService;
+        this.syncOverlap = Duration.ofMillis(syncOverlapMs);
+        this.fullSyncInterval = Duration.ofMillis(fullSyncIntervalMs);
+    }
+
+    /**
+     * Revokes the token until it expires; the local index is updated once the transaction commits
+     *
+     * @param tokenId Token id, see {@link JwtService.TokenClaims#tokenId()}
+     * @param expiresAt Token expiry
+     */
+    @Transactional
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (!expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        if (!revokedTokenRepository.existsByTokenId(tokenId)) {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .tokenId(tokenId)
+                    .expiresAt(expiresAt)
+                    .build());
+        }
+        TransactionUtils.afterCommit(() -> revokedTokenIndex.add(tokenId, expiresAt));
+    }
+
+    /**
+     * Revokes every access and refresh token issued to the user so far; the local epoch
+     * cache is updated once the transaction commits
+     */
+    @Transactional
+    public void revokeAllTokens(User user) {
+        Long userId = user.getId();
+        LocalDateTime now = LocalDateTime.now();
+        userRepository.incrementTokenVersion(userId, now);
+        int version = userRepository.findTokenVersionById(userId).orElseThrow();
+        refreshTokenService.revokeUserTokens(user);
+        TransactionUtils.afterCommit(() -> tokenEpochCache.put(userId, version, now));
+        log.info("Revoked all tokens of User ID={} (token version {})", userId, version);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return revokedTokenIndex.isRevoked(tokenId);
+    }
+
+    /**
+     * Whether a token with the given version was issued before the user's tokens were last revoked
+     */
+    public boolean isSuperseded(Long userId, Integer tokenVersion) {
+        return !tokenEpochCache.isCurrent(userId, tokenVersion);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int loaded = fullSync();
+        log.info("{} Revoked token index loaded with {} tokens", LoggingConstants.SYSTEM, loaded);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.auth.revocation.sync-interval-ms:10000}",
+            fixedDelayString = "${app.auth.revocation.sync-interval-ms:10000}")
+    public void sync() {
+        Instant fullSyncAt = lastFullSync;
+        if (fullSyncAt == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        int synced;
+        if (!now.isBefore(fullSyncAt.plus(fullSyncInterval))) {
+            synced = fullSync();
+        } else {
+            Instant newest = watermark;
+            synced = addAll(revokedTokenRepository.findByRevokedAtGreaterThanEqualAndExpiresAtAfter(
+                    newest != null ? newest.minus(syncOverlap) : Instant.EPOCH, now));
+        }
+        log.debug("Revoked token sync read {} revocations", synced);
+    }
+
+    private int fullSync() {
+        Instant now = Instant.now();
+        int read = addAll(revokedTokenRepository.findByRevokedAtGreaterThanEqualAndExpiresAtAfter(Instant.EPOCH, now));
+        lastFullSync = now;
+        return read;
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.auth.revocation.tick-ms:60000}",
+            fixedDelayString = "${app.auth.revocation.tick-ms:60000}")
+    public void expire() {
+        Instant now = Instant.now();
+        int expired = revokedTokenIndex.expire(now);
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        if (expired > 0 || deleted > 0) {
+            log.debug("Expired {} revoked token ids, deleted {} rows", expired, deleted);
+        }
+    }
+
+    private int addAll(List<RevokedToken> revocations) {
+        Instant newest = watermark;
+        for (RevokedToken revocation : revocations) {
+            revokedTokenIndex.add(revocation.getTokenId(), revocation.getExpiresAt());
+            if (newest == null || revocation.getRevokedAt().isAfter(newest)) {
+                newest = revocation.getRevokedAt();
+            }
+        }
+        watermark = newest;
+        return revocations.size();
+    }
+}
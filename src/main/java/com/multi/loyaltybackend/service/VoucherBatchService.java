@@ -0,0 +1,192 @@
+package com.multi.loyaltybackend.service;
+
+import com.multi.loyaltybackend.config.LoggingConstants;
+import com.multi.loyaltybackend.dto.response.VoucherBatchItemResult;
+import com.multi.loyaltybackend.dto.response.VoucherBatchResponse;
+import com.multi.loyaltybackend.exception.ErrorCode;
+import com.multi.loyaltybackend.exception.InsufficientPointsException;
+import com.multi.loyaltybackend.exception.UserNotFoundException;
+import com.multi.loyaltybackend.exception.VoucherOutOfStockException;
+import com.multi.loyaltybackend.model.PointsTransactionType;
+import com.multi.loyaltybackend.model.User;
+import com.multi.loyaltybackend.model.UserVoucher;
+import com.multi.loyaltybackend.model.Voucher;
+import com.multi.loyaltybackend.model.VoucherStatus;
+import com.multi.loyaltybackend.repository.UserRepository;
+import com.multi.loyaltybackend.repository.UserVoucherRepository;
+import com.multi.loyaltybackend.repository.VoucherRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Batch variants of voucher exchange and redemption.
+ * <p>
+ * Each batch loads everything it needs with set-based queries, validates every item in
+ * memory and then writes with one statement per table, reporting a result per voucher.
+ * Items that fail validation are skipped without failing the batch. If the writes find
+ * that a concurrent request changed the data after it was read (a duplicate exchange,
+ * a spent balance or an already redeemed voucher), the whole batch is rolled back and
+ * re-validated a bounded number of times.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VoucherBatchService {
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+
+    private final UserRepository userRepository;
+    private final VoucherRepository voucherRepository;
+    private final UserVoucherRepository userVoucherRepository;
+    private final PointsLedgerService pointsLedgerService;
+    private final VoucherStockService voucherStockService;
+    private final RedemptionCodeService redemptionCodeService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Exchanges points for several vouchers. Vouchers are taken in request order while the
+     * balance covers them; duplicate ids are reported once.
+     */
+    public VoucherBatchResponse exchangeVouchers(String email, List<Long> voucherIds) {
+        return withRetries("exchange", email, () -> doExchangeVouchers(email, voucherIds));
+    }
+
+    /**
+     * Redeems several of the user's exchanged vouchers; duplicate ids are reported once
+     */
+    public VoucherBatchResponse redeemVouchers(String email, List<Long> voucherIds) {
+        return withRetries("redeem", email, () -> doRedeemVouchers(email, voucherIds));
+    }
+
+    private VoucherBatchResponse doExchangeVouchers(String email, List<Long> voucherIds) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UserNotFoundException(email));
+        List<Long> requested = voucherIds.stream().distinct().toList();
+        Map<Long, Voucher> vouchers = voucherRepository.findAllById(requested).stream()
+                .collect(Collectors.toMap(Voucher::getId, Function.identity()));
+        Set<Long> exchanged = new HashSet<>(userVoucherRepository.findVoucherIdsByUserId(user.getId()));
+        int balance = userRepository.findTotalPointsById(user.getId()).orElse(0);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<VoucherBatchItemResult> results = new ArrayList<>(requested.size());
+        List<PointsLedgerService.Entry> debits = new ArrayList<>();
+        int cost = 0;
+        for (Long voucherId : requested) {
+            Voucher voucher = vouchers.get(voucherId);
+            ErrorCode error = null;
+            if (voucher == null) {
+                error = ErrorCode.VOUCHER_NOT_FOUND;
+            } else if (voucher.getExpiry() != null && voucher.getExpiry().isBefore(now)) {
+                error = ErrorCode.VOUCHER_EXPIRED;
+            } else if (exchanged.contains(voucherId)) {
+                error = ErrorCode.VOUCHER_ALREADY_EXCHANGED;
+            } else if (cost + voucher.getPoints() > balance) {
+                error = ErrorCode.INSUFFICIENT_POINTS;
+            } else {
+                try {
+                    voucherStockService.reserve(voucherId);
+                } catch (VoucherOutOfStockException e) {
+                    error = ErrorCode.VOUCHER_OUT_OF_STOCK;
+                }
+            }
+
+            if (error != null) {
+                results.add(VoucherBatchItemResult.failure(voucherId, error));
+                continue;
+            }
+            cost += voucher.getPoints();
+            debits.add(new PointsLedgerService.Entry(user.getId(), voucher.getPoints(),
+                    PointsTransactionType.VOUCHER_EXCHANGE, voucherId, voucher.getTitle()));
+            results.add(VoucherBatchItemResult.success(voucherId));
+        }
+
+        if (!debits.isEmpty()) {
+            List<Long> accepted = debits.stream().map(PointsLedgerService.Entry::referenceId).toList();
+            userVoucherRepository.insertAll(user.getId(), accepted, VoucherStatus.ACTIVE, now);
+            // The set-based insert bypasses @PrePersist; codes are written with batched updates on flush
+            redemptionCodeService.assignCodes(userVoucherRepository.findByUserIdAndVoucherIdIn(user.getId(), accepted));
+            try {
+                pointsLedgerService.debitAll(debits);
+            } catch (InsufficientPointsException e) {
+                throw new OptimisticLockingFailureException("Points balance changed during batch exchange", e);
+            }
+        }
+
+        VoucherBatchResponse response = VoucherBatchResponse.of(results);
+        log.info("{} Batch voucher exchange - User ID={}, Exchanged={}, Failed={}, Points={}",
+                LoggingConstants.API, user.getId(), response.succeeded(), response.failed(), cost);
+        return response;
+    }
+
+    private VoucherBatchResponse doRedeemVouchers(String email, List<Long> voucherIds) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UserNotFoundException(email));
+        List<Long> requested = voucherIds.stream().distinct().toList();
+        Map<Long, UserVoucher> owned = userVoucherRepository.findByUserIdAndVoucherIdIn(user.getId(), requested).stream()
+                .collect(Collectors.toMap(userVoucher -> userVoucher.getVoucher().getId(), Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+
+        List<VoucherBatchItemResult> results = new ArrayList<>(requested.size());
+        List<Long> accepted = new ArrayList<>();
+        for (Long voucherId : requested) {
+            UserVoucher userVoucher = owned.get(voucherId);
+            ErrorCode error = null;
+            if (userVoucher == null) {
+                error = ErrorCode.USER_VOUCHER_NOT_FOUND;
+            } else if (userVoucher.getStatus() == VoucherStatus.REDEEMED) {
+                error = ErrorCode.VOUCHER_ALREADY_REDEEMED;
+            } else if (userVoucher.getStatus() == VoucherStatus.EXPIRED
+                    || (userVoucher.getVoucher().getExpiry() != null && userVoucher.getVoucher().getExpiry().isBefore(now))) {
+                error = ErrorCode.VOUCHER_EXPIRED;
+            }
+
+            if (error != null) {
+                results.add(VoucherBatchItemResult.failure(voucherId, error));
+                continue;
+            }
+            accepted.add(userVoucher.getId());
+            redemptionCodeService.registerRedeemed(userVoucher.getRedemptionCode());
+            results.add(VoucherBatchItemResult.success(voucherId));
+        }
+
+        if (!accepted.isEmpty()
+                && userVoucherRepository.transitionStatus(accepted, VoucherStatus.ACTIVE, VoucherStatus.REDEEMED, now) != accepted.size()) {
+            throw new OptimisticLockingFailureException("User vouchers changed during batch redeem");
+        }
+
+        VoucherBatchResponse response = VoucherBatchResponse.of(results);
+        log.info("{} Batch voucher redeem - User ID={}, Redeemed={}, Failed={}",
+                LoggingConstants.API, user.getId(), response.succeeded(), response.failed());
+        return response;
+    }
+
+    private VoucherBatchResponse withRetries(String operation, String email, Supplier<VoucherBatchResponse> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> batch.get());
+            } catch (TransientDataAccessException | DataIntegrityViolationException e) {
+                // A concurrent request won a unique constraint or changed a row we validated
+                if (attempt >= MAX_BATCH_ATTEMPTS) {
+                    log.warn("{} Batch voucher {} failed after {} attempts - Email: {}",
+                            LoggingConstants.API, operation, attempt, email);
+                    throw e;
+                }
+                log.debug("Retrying batch voucher {} after conflict (attempt {})", operation, attempt);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.multi.loyaltybackend.service;
+
+import com.multi.loyaltybackend.cache.RedemptionCodeIndex;
+import com.multi.loyaltybackend.config.LoggingConstants;
+import com.multi.loyaltybackend.model.VoucherStatus;
+import com.multi.loyaltybackend.repository.ActiveRedemptionCode;
+import com.multi.loyaltybackend.repository.UserVoucherRepository;
+import com.multi.loyaltybackend.util.TransactionUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Background job that moves user vouchers whose voucher has expired from ACTIVE to EXPIRED,
+ * so the stored status can be filtered on directly instead of being re-derived from the
+ * voucher expiry on every read.
+ * <p>
+ * Each run walks the overdue rows in id order, in chunks of bounded size, each in its own
+ * short transaction, and stops after a bounded number of chunks; the rest is picked up by
+ * the next run. Exchange and redeem keep their own expiry checks, so the window between
+ * expiry and the sweep is never exploitable.
+ */
+@Slf4j
+@Component
+public class VoucherExpirySweeper {
+
+    private final UserVoucherRepository userVoucherRepository;
+    private final RedemptionCodeIndex redemptionCodeIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+
+    private final Counter expired;
+    private final Counter chunks;
+    private final Timer runs;
+    // Seconds the oldest still-active expired user voucher has been overdue after the last run
+    private volatile long lagSeconds;
+
+    public VoucherExpirySweeper(UserVoucherRepository userVoucherRepository,
+                                RedemptionCodeIndex redemptionCodeIndex,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.voucher-expiry.chunk-size:500}") int chunkSize,
+                                @Value("${app.voucher-expiry.max-chunks-per-run:100}") int maxChunksPerRun) {
+        this.userVoucherRepository = userVoucherRepository;
+        this.redemptionCodeIndex = redemptionCodeIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.expired = Counter.builder("voucher_expiry_sweeper.expired").register(meterRegistry);
+        this.chunks = Counter.builder("voucher_expiry_sweeper.chunks").register(meterRegistry);
+        this.runs = Timer.builder("voucher_expiry_sweeper.run").register(meterRegistry);
+        Gauge.builder("voucher_expiry_sweeper.lag_seconds", this, sweeper -> sweeper.lagSeconds).register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.voucher-expiry.sweep-interval-ms:60000}",
+            fixedDelayString = "${app.voucher-expiry.sweep-interval-ms:60000}")
+    public void sweep() {
+        runs.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            long afterId = 0;
+            int total = 0;
+            int chunkCount = 0;
+            while (chunkCount < maxChunksPerRun) {
+                long cursor = afterId;
+                List<ActiveRedemptionCode> chunk = userVoucherRepository.findExpiredChunk(
+                        VoucherStatus.ACTIVE, cursor, now, Limit.of(chunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                Integer updated = transactionTemplate.execute(status -> expireChunk(chunk, now));
+                total += updated != null ? updated : 0;
+                chunkCount++;
+                chunks.increment();
+                afterId = chunk.get(chunk.size() - 1).getUserVoucherId();
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+            }
+
+            lagSeconds = userVoucherRepository.findOldestExpiry(VoucherStatus.ACTIVE, now)
+                    .map(oldest -> Duration.between(oldest, now).toSeconds())
+                    .orElse(0L);
+            if (total > 0) {
+                log.info("{} Expired {} user vouchers in {} chunks (lag {}s)",
+                        LoggingConstants.SYSTEM, total, chunkCount, lagSeconds);
+            }
+        });
+    }
+
+    private int expireChunk(List<ActiveRedemptionCode> chunk, LocalDateTime now) {
+        List<Long> ids = chunk.stream().map(ActiveRedemptionCode::getUserVoucherId).toList();
+        // Rows redeemed since the chunk was read no longer match the ACTIVE condition, and rows
+        // of a voucher extended since then no longer match the expiry condition
+        int updated = userVoucherRepository.updateStatusIfExpired(ids, VoucherStatus.ACTIVE, VoucherStatus.EXPIRED, now);
+        expired.increment(updated);
+        // Codes of rows that stayed ACTIVE are still redeemable and stay in the index
+        Set<Long> stillActive = updated < ids.size()
+                ? Set.copyOf(userVoucherRepository.findIdsByIdInAndStatus(ids, VoucherStatus.ACTIVE))
+                : Set.of();
+        TransactionUtils.afterCommit(() -> chunk.forEach(row -> {
+            if (row.getCode() != null && !stillActive.contains(row.getUserVoucherId())) {
+                redemptionCodeIndex.remove(row.getCode());
+            }
+        }));
+        return updated;
+    }
+}
@@ -1,20 +1,29 @@
 package com.multi.loyaltybackend.service;
 
+import com.multi.loyaltybackend.cache.CompanyCatalogCache;
+import com.multi.loyaltybackend.cache.VoucherCatalogSnapshot;
 import com.multi.loyaltybackend.model.*;
 import com.multi.loyaltybackend.repository.CompanyRepository;
 import com.multi.loyaltybackend.exception.*;
 import com.multi.loyaltybackend.repository.UserRepository;
+import com.multi.loyaltybackend.dto.CursorPageResponse;
 import com.multi.loyaltybackend.dto.VoucherFilterDTO;
 import com.multi.loyaltybackend.dto.VoucherRequest;
 import com.multi.loyaltybackend.dto.VoucherWithCompanyDTO;
 import com.multi.loyaltybackend.repository.UserVoucherRepository;
 import com.multi.loyaltybackend.repository.VoucherRepository;
 import com.multi.loyaltybackend.repository.VoucherSpecifications;
+import com.multi.loyaltybackend.config.LoggingConstants;
+import com.multi.loyaltybackend.util.TransactionUtils;
+import com.multi.loyaltybackend.util.VoucherCatalogCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -30,11 +39,20 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class VoucherService {
+    private static final int MAX_EXCHANGE_ATTEMPTS = 3;
+    private static final int MAX_CATALOG_PAGE_SIZE = 100;
+
     private final VoucherRepository voucherRepository;
     private final CompanyRepository companyRepository;
     private final ImageStorageService imageStorageService;
     private final UserRepository userRepository;
     private final UserVoucherRepository userVoucherRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PointsLedgerService pointsLedgerService;
+    private final VoucherStockService voucherStockService;
+    private final VoucherCatalogSnapshot voucherCatalogSnapshot;
+    private final CompanyCatalogCache companyCatalogCache;
+    private final RedemptionCodeService redemptionCodeService;
 
     public Page<Voucher> getAllVouchers(Pageable pageable) {
         Page<Voucher> vouchers = voucherRepository.findAll(pageable);
@@ -69,12 +87,59 @@ public class VoucherService {
                                         ? imageStorageService.getFilePath(company.getLogoFileName())
                                         : null);
                     }
+                    addStock(builder, voucher);
 
                     return builder.build();
                 })
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get the unexpired vouchers the user has not exchanged yet, in id order with keyset
+     * pagination. The catalog comes from {@link VoucherCatalogSnapshot}; only the user's
+     * exchanged voucher ids and the live stock counters are read per request.
+     */
+    public CursorPageResponse<VoucherWithCompanyDTO> getAvailableVouchers(String email, String cursor, int size) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UserNotFoundException(email));
+        VoucherCatalogCursor position = VoucherCatalogCursor.decode(cursor);
+        int pageSize = Math.clamp(size, 1, MAX_CATALOG_PAGE_SIZE);
+
+        long[] exchangedIds = userVoucherRepository.findVoucherIdsByUserId(user.getId()).stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+        List<VoucherCatalogSnapshot.Item> items = voucherCatalogSnapshot.findPage(
+                position == null ? null : position.id(), exchangedIds, pageSize + 1);
+
+        boolean hasNext = items.size() > pageSize;
+        List<VoucherCatalogSnapshot.Item> pageContent = hasNext ? items.subList(0, pageSize) : items;
+        String nextCursor = hasNext
+                ? new VoucherCatalogCursor(pageContent.get(pageContent.size() - 1).id()).encode()
+                : null;
+
+        String baseUrl = imageStorageService.currentBaseUrl();
+        return new CursorPageResponse<>(
+                pageContent.stream().map(item -> mapCatalogItem(item, baseUrl)).toList(),
+                nextCursor,
+                pageSize,
+                hasNext);
+    }
+
+    private VoucherWithCompanyDTO mapCatalogItem(VoucherCatalogSnapshot.Item item, String baseUrl) {
+        return VoucherWithCompanyDTO.builder()
+                .id(item.id())
+                .title(item.title())
+                .points(item.points())
+                .expiry(item.expiry())
+                .companyId(item.companyId())
+                .companyName(item.companyName())
+                .companyLogo(imageStorageService.getFileUrl(item.companyLogoFileName(), baseUrl))
+                .stockLimit(item.stockLimit())
+                .remainingStock(item.stockLimit() != null ? voucherStockService.getRemaining(item.id()) : null)
+                .build();
+    }
+
     /**
      * Get filtered vouchers with pagination
      */
@@ -123,6 +188,7 @@ public class VoucherService {
                                 ? imageStorageService.getFilePath(company.getLogoFileName())
                                 : null);
             }
+            addStock(builder, voucher);
 
             return builder.build();
         });
@@ -146,6 +212,7 @@ public class VoucherService {
                                         ? imageStorageService.getFilePath(company.getLogoFileName())
                                         : null);
                     }
+                    addStock(builder, voucher);
 
                     return builder.build();
                 });
@@ -161,7 +228,10 @@ public class VoucherService {
         voucher.setPoints(request.getPoints());
         voucher.setExpiry(request.getExpiry());
         voucher.setCompany(company);
+        voucher.setStockLimit(request.getStockLimit());
 
+        TransactionUtils.afterCommit(voucherCatalogSnapshot::invalidate);
+        TransactionUtils.afterCommit(companyCatalogCache::invalidate);
         return voucherRepository.save(voucher);
     }
 
@@ -172,19 +242,57 @@ public class VoucherService {
 
         voucher.setTitle(voucherDetails.getTitle());
         voucher.setPoints(voucherDetails.getPoints());
-        voucher.setExpiry(voucherDetails.getExpiry());
+        if (!Objects.equals(voucher.getExpiry(), voucherDetails.getExpiry())) {
+            voucher.setExpiry(voucherDetails.getExpiry());
+            if (voucher.getExpiry() == null || voucher.getExpiry().isAfter(LocalDateTime.now())) {
+                // Extended: undo the expiry sweeper for this voucher
+                userVoucherRepository.updateStatusByVoucherId(id, VoucherStatus.EXPIRED, VoucherStatus.ACTIVE);
+            }
+            TransactionUtils.afterCommit(() -> redemptionCodeService.reindexVoucher(id));
+        }
         voucher.setCompany(voucherDetails.getCompany());
+        if (!Objects.equals(voucher.getStockLimit(), voucherDetails.getStockLimit())) {
+            voucher.setStockLimit(voucherDetails.getStockLimit());
+            TransactionUtils.afterCommit(() -> voucherStockService.reconcile(id));
+        }
 
+        TransactionUtils.afterCommit(voucherCatalogSnapshot::invalidate);
+        TransactionUtils.afterCommit(companyCatalogCache::invalidate);
         return voucherRepository.save(voucher);
     }
 
     @Transactional
     public void deleteVoucher(Long id) {
         voucherRepository.deleteById(id);
+        TransactionUtils.afterCommit(() -> voucherStockService.evict(id));
+        TransactionUtils.afterCommit(voucherCatalogSnapshot::invalidate);
+        TransactionUtils.afterCommit(companyCatalogCache::invalidate);
     }
 
-    @Transactional
+    /**
+     * Exchanges points for a voucher. The debit is a single conditional UPDATE and the
+     * unique (user_id, voucher_id) constraint rejects duplicates, so concurrent exchanges
+     * can neither overspend nor double-exchange. Stock-limited vouchers reserve a unit
+     * through {@link VoucherStockService}, which is handed back if the exchange rolls back.
+     * Transient lock conflicts are retried a bounded number of times.
+     */
     public void exchangeVoucher(String email, Long voucherId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> doExchangeVoucher(email, voucherId));
+                return;
+            } catch (TransientDataAccessException e) {
+                if (attempt >= MAX_EXCHANGE_ATTEMPTS) {
+                    log.warn("{} Voucher exchange failed after {} attempts - Email: {}, Voucher ID={}",
+                            LoggingConstants.API, attempt, email, voucherId);
+                    throw e;
+                }
+                log.debug("Retrying voucher exchange after conflict (attempt {}) - Voucher ID={}", attempt, voucherId);
+            }
+        }
+    }
+
+    private void doExchangeVoucher(String email, Long voucherId) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException(email));
 
@@ -199,19 +307,30 @@ public class VoucherService {
             throw new VoucherAlreadyExchangedException(user.getId(), voucherId);
         }
 
-        if (user.getTotalPoints() < voucher.getPoints()) {
-            throw new InsufficientPointsException(voucher.getPoints(), user.getTotalPoints());
-        }
+        voucherStockService.reserve(voucherId);
 
         UserVoucher userVoucher = UserVoucher.builder()
                 .user(user)
                 .voucher(voucher)
                 .status(VoucherStatus.ACTIVE)
                 .build();
-        userVoucherRepository.save(userVoucher);
-        user.setTotalPoints(user.getTotalPoints() - voucher.getPoints());
-        userRepository.save(user);
+        try {
+            userVoucherRepository.saveAndFlush(userVoucher);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent exchange of the same voucher won the unique constraint
+            throw new VoucherAlreadyExchangedException(user.getId(), voucherId);
+        }
+        redemptionCodeService.registerIssued(userVoucher);
+
+        pointsLedgerService.debit(user.getId(), voucher.getPoints(),
+                PointsTransactionType.VOUCHER_EXCHANGE, voucherId, voucher.getTitle());
+    }
 
+    private void addStock(VoucherWithCompanyDTO.VoucherWithCompanyDTOBuilder builder, Voucher voucher) {
+        if (voucher.getStockLimit() != null) {
+            builder.stockLimit(voucher.getStockLimit())
+                    .remainingStock(voucherStockService.getRemaining(voucher.getId()));
+        }
     }
 
     @Transactional
@@ -227,16 +346,19 @@ public class VoucherService {
         }
 
         UserVoucher userVoucher = userVoucherRepository.getUserVoucherByUserIdAndVoucherId(user.getId(), voucherId)
-                .orElseThrow(() -> new RuntimeException("UserVoucherNotFoundException" + user.getId() + voucherId));
-
+                .orElseThrow(() -> new UserVoucherNotFoundException(user.getId(), voucherId));
 
         if (userVoucher.getStatus() == VoucherStatus.REDEEMED) {
-            throw new RuntimeException("UserVoucherAlreadyRedeemed!");
+            throw new VoucherAlreadyRedeemedException(voucherId);
+        }
+        if (userVoucher.getStatus() == VoucherStatus.EXPIRED) {
+            throw new VoucherExpiredException(voucherId);
         }
 
         userVoucher.setStatus(VoucherStatus.REDEEMED);
         userVoucher.setRedeemedAt(LocalDateTime.now());
 
         userVoucherRepository.save(userVoucher);
+        redemptionCodeService.registerRedeemed(userVoucher.getRedemptionCode());
     }
 }
\ No newline at end of file
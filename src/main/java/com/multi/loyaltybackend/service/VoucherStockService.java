@@ -0,0 +1,225 @@
+package com.multi.loyaltybackend.service;
+
+import com.multi.loyaltybackend.config.LoggingConstants;
+import com.multi.loyaltybackend.exception.VoucherOutOfStockException;
+import com.multi.loyaltybackend.repository.UserVoucherRepository;
+import com.multi.loyaltybackend.repository.VoucherRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * In-memory reservation counters for stock-limited vouchers.
+ * <p>
+ * The durable record of issued units is the user_vouchers table, so an exchange never
+ * updates a shared stock row. Remaining units are spread over cache-line padded stripes;
+ * a reservation takes one unit from a random stripe with a CAS and only scans the others
+ * when its stripe is empty, so concurrent exchanges of the same voucher rarely collide
+ * and the total can never go below zero. Units are returned if the exchanging
+ * transaction rolls back.
+ * <p>
+ * Counters are loaded lazily as (stock limit - issued rows) and periodically rebuilt from
+ * the database. A rebuild retires the old counters and subtracts reservations that are
+ * still in flight on them, so it can only undercount until the next rebuild, never oversell.
+ * <p>
+ * The no-oversell guarantee holds within one application instance only. Every instance
+ * keeps its own counters, so several instances sharing a database could together issue
+ * more than the stock limit between reconciliations.
+ */
+@Slf4j
+@Service
+public class VoucherStockService {
+
+    private static final int MAX_STRIPES = 16;
+    // Ints per 64-byte cache line, so neighbouring stripes do not false-share
+    private static final int PADDING = 16;
+    private static final Stock UNLIMITED = new Stock(0, 1);
+
+    private final VoucherRepository voucherRepository;
+    private final UserVoucherRepository userVoucherRepository;
+    private final int stripes = Math.min(MAX_STRIPES, Runtime.getRuntime().availableProcessors() * 2);
+    private final Map<Long, Stock> stocks = new ConcurrentHashMap<>();
+    private final Object loadLock = new Object();
+    private final Counter reserved;
+    private final Counter soldOut;
+
+    public VoucherStockService(VoucherRepository voucherRepository,
+                               UserVoucherRepository userVoucherRepository,
+                               MeterRegistry meterRegistry) {
+        this.voucherRepository = voucherRepository;
+        this.userVoucherRepository = userVoucherRepository;
+        this.reserved = Counter.builder("voucher_stock.reservations").tag("result", "reserved").register(meterRegistry);
+        this.soldOut = Counter.builder("voucher_stock.reservations").tag("result", "sold_out").register(meterRegistry);
+    }
+
+    /**
+     * Reserves one unit of the voucher for the current transaction. The unit is released
+     * again if the transaction rolls back. Vouchers without a stock limit always succeed.
+     *
+     * @throws VoucherOutOfStockException when no units are left
+     */
+    public void reserve(Long voucherId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Voucher stock reservations require an active transaction");
+        }
+        while (true) {
+            Stock stock = stockFor(voucherId);
+            if (stock == UNLIMITED) {
+                return;
+            }
+            stock.pending.incrementAndGet();
+            if (stock.retired) {
+                // Rebuilt concurrently; retry against the new counters
+                stock.pending.decrementAndGet();
+                continue;
+            }
+            int stripe = stock.take(ThreadLocalRandom.current().nextInt(stock.stripes));
+            if (stripe < 0) {
+                stock.pending.decrementAndGet();
+                soldOut.increment();
+                throw new VoucherOutOfStockException(voucherId);
+            }
+            reserved.increment();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        stock.release(stripe);
+                    }
+                    stock.pending.decrementAndGet();
+                }
+            });
+            return;
+        }
+    }
+
+    /**
+     * Returns the units left, or null when the voucher has no stock limit
+     */
+    public Integer getRemaining(Long voucherId) {
+        Stock stock = stockFor(voucherId);
+        return stock == UNLIMITED ? null : stock.available();
+    }
+
+    /**
+     * Rebuilds the counters of one voucher from the database, e.g. after its stock limit changed
+     */
+    public void reconcile(Long voucherId) {
+        synchronized (loadLock) {
+            Stock previous = stocks.remove(voucherId);
+            int inFlight = 0;
+            if (previous != null) {
+                previous.retired = true;
+                inFlight = previous.pending.get();
+            }
+            stocks.put(voucherId, load(voucherId, inFlight));
+        }
+    }
+
+    /**
+     * Forgets a deleted voucher
+     */
+    public void evict(Long voucherId) {
+        synchronized (loadLock) {
+            Stock previous = stocks.remove(voucherId);
+            if (previous != null) {
+                previous.retired = true;
+            }
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.voucher-stock.reconcile-interval-ms:60000}",
+            fixedDelayString = "${app.voucher-stock.reconcile-interval-ms:60000}")
+    public void reconcileAll() {
+        List<Long> voucherIds = stocks.entrySet().stream()
+                .filter(entry -> entry.getValue() != UNLIMITED)
+                .map(Map.Entry::getKey)
+                .toList();
+        for (Long voucherId : voucherIds) {
+            try {
+                reconcile(voucherId);
+            } catch (Exception e) {
+                log.error("{} Failed to reconcile stock for Voucher ID={} - Error: {}",
+                        LoggingConstants.SYSTEM, voucherId, e.getMessage());
+            }
+        }
+    }
+
+    private Stock stockFor(Long voucherId) {
+        Stock stock = stocks.get(voucherId);
+        if (stock != null) {
+            return stock;
+        }
+        synchronized (loadLock) {
+            return stocks.computeIfAbsent(voucherId, id -> load(id, 0));
+        }
+    }
+
+    private Stock load(Long voucherId, int inFlight) {
+        Integer stockLimit = voucherRepository.findStockLimitById(voucherId).orElse(null);
+        if (stockLimit == null) {
+            return UNLIMITED;
+        }
+        long issued = userVoucherRepository.countByVoucherId(voucherId);
+        int available = (int) Math.max(0, stockLimit - issued - inFlight);
+        log.debug("Loaded stock for Voucher ID={} - limit={}, issued={}, inFlight={}, available={}",
+                voucherId, stockLimit, issued, inFlight, available);
+        return new Stock(available, stripes);
+    }
+
+    private static final class Stock {
+
+        private final int stripes;
+        private final AtomicIntegerArray slots;
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean retired;
+
+        Stock(int available, int stripes) {
+            this.stripes = stripes;
+            this.slots = new AtomicIntegerArray(stripes * PADDING);
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                slots.set(stripe * PADDING, available / stripes + (stripe < available % stripes ? 1 : 0));
+            }
+        }
+
+        /**
+         * Takes one unit, starting at the given stripe; returns the stripe used or -1 when empty
+         */
+        int take(int start) {
+            for (int offset = 0; offset < stripes; offset++) {
+                int stripe = (start + offset) % stripes;
+                int index = stripe * PADDING;
+                for (int units = slots.get(index); units > 0; units = slots.get(index)) {
+                    if (slots.compareAndSet(index, units, units - 1)) {
+                        return stripe;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        void release(int stripe) {
+            slots.incrementAndGet(stripe * PADDING);
+        }
+
+        int available() {
+            int total = 0;
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                total += slots.get(stripe * PADDING);
+            }
+            return total;
+        }
+    }
+}
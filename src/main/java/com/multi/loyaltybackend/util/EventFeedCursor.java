@@ -0,0 +1,45 @@
+package com.multi.loyaltybackend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the event feed, ordered by (dateTime, id).
+ * Encoded as an opaque URL-safe token so clients never depend on its contents.
+ */
+public record EventFeedCursor(LocalDateTime dateTime, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = dateTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor token
+     *
+     * @param token cursor token, null or blank for the first page
+     * @return decoded cursor, or null for the first page
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static EventFeedCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new EventFeedCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
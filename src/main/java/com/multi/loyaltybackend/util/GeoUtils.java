@@ -0,0 +1,65 @@
+package com.multi.loyaltybackend.util;
+
+/**
+ * Great-circle distance and bounding-box helpers for latitude/longitude in degrees.
+ */
+public class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LATITUDE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private GeoUtils() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Axis-aligned box that contains every point within a radius of a center.
+     * When {@code minLongitude > maxLongitude} the box crosses the antimeridian.
+     */
+    public record BoundingBox(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+
+        public boolean crossesAntimeridian() {
+            return minLongitude > maxLongitude;
+        }
+    }
+
+    /**
+     * Haversine distance between two points
+     *
+     * @return Distance in kilometres
+     */
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLatitude = Math.toRadians(latitude2 - latitude1);
+        double dLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.pow(Math.sin(dLatitude / 2), 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.pow(Math.sin(dLongitude / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    public static BoundingBox boundingBox(double latitude, double longitude, double radiusKm) {
+        double deltaLatitude = radiusKm / KM_PER_DEGREE_LATITUDE;
+        double minLatitude = Math.max(-90, latitude - deltaLatitude);
+        double maxLatitude = Math.min(90, latitude + deltaLatitude);
+
+        // Near the poles the box spans every longitude
+        double cosLatitude = Math.cos(Math.toRadians(Math.max(Math.abs(minLatitude), Math.abs(maxLatitude))));
+        double deltaLongitude = cosLatitude <= 0 ? 180 : radiusKm / (KM_PER_DEGREE_LATITUDE * cosLatitude);
+        if (deltaLongitude >= 180) {
+            return new BoundingBox(minLatitude, maxLatitude, -180, 180);
+        }
+        return new BoundingBox(minLatitude, maxLatitude,
+                normalizeLongitude(longitude - deltaLongitude),
+                normalizeLongitude(longitude + deltaLongitude));
+    }
+
+    private static double normalizeLongitude(double longitude) {
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        if (longitude > 180) {
+            return longitude - 360;
+        }
+        return longitude;
+    }
+}
@@ -0,0 +1,62 @@
+package com.multi.loyaltybackend.util;
+
+import java.security.SecureRandom;
+import java.util.Locale;
+
+/**
+ * Short, unguessable voucher redemption codes.
+ * <p>
+ * Codes are 10 characters of Crockford base32 (50 random bits), which leaves out I, L, O
+ * and U so codes read aloud or typed at a till are not confused.
+ */
+public class RedemptionCodes {
+
+    public static final int LENGTH = 10;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private RedemptionCodes() {
+        // Utility class - prevent instantiation
+    }
+
+    public static String generate() {
+        char[] code = new char[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            code[i] = ALPHABET[RANDOM.nextInt(ALPHABET.length)];
+        }
+        return new String(code);
+    }
+
+    /**
+     * Normalizes user input: upper-cases it, drops spaces and dashes and maps the
+     * look-alike letters I, L and O to 1, 1 and 0.
+     *
+     * @return the canonical code, or null if the input cannot be a valid code
+     */
+    public static String normalize(String input) {
+        if (input == null) {
+            return null;
+        }
+        StringBuilder code = new StringBuilder(LENGTH);
+        for (char c : input.toUpperCase(Locale.ROOT).toCharArray()) {
+            switch (c) {
+                case ' ', '-' -> {
+                    continue;
+                }
+                case 'I', 'L' -> c = '1';
+                case 'O' -> c = '0';
+                default -> {
+                }
+            }
+            if (code.length() == LENGTH || !isValidChar(c)) {
+                return null;
+            }
+            code.append(c);
+        }
+        return code.length() == LENGTH ? code.toString() : null;
+    }
+
+    private static boolean isValidChar(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z' && c != 'I' && c != 'L' && c != 'O' && c != 'U');
+    }
+}
@@ -0,0 +1,34 @@
+package com.multi.loyaltybackend.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for coordinating in-memory state with database transactions.
+ */
+public class TransactionUtils {
+
+    private TransactionUtils() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Runs the action once the current transaction commits, or immediately when
+     * no transaction is active. Rolled back transactions never run the action,
+     * so in-memory caches only ever reflect committed data.
+     *
+     * @param action The action to run
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
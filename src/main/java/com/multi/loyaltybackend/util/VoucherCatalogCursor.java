@@ -0,0 +1,34 @@
+package com.multi.loyaltybackend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in the available-voucher catalog, ordered by voucher id.
+ * Encoded as an opaque URL-safe token so clients never depend on its contents.
+ */
+public record VoucherCatalogCursor(long id) {
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor token
+     *
+     * @param token cursor token, null or blank for the first page
+     * @return decoded cursor, or null for the first page
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static VoucherCatalogCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            return new VoucherCatalogCursor(Long.parseLong(raw));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
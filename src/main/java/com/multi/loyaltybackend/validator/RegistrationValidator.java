@@ -2,25 +2,11 @@ package com.multi.loyaltybackend.validator;
 
 import com.multi.loyaltybackend.exception.VolunteerLimitExceededException;
 import com.multi.loyaltybackend.model.Event;
-import com.multi.loyaltybackend.model.RegistrationStatus;
-import com.multi.loyaltybackend.repository.RegistrationRepository;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
-import java.util.List;
-
 @Component
-@RequiredArgsConstructor
 public class RegistrationValidator {
 
-    private static final List<RegistrationStatus> ACTIVE_STATUSES = Arrays.asList(
-            RegistrationStatus.REGISTERED,
-            RegistrationStatus.COMPLETED
-    );
-
-    private final RegistrationRepository registrationRepository;
-
     /**
      * Validates if event has available volunteer slots
      *
@@ -32,7 +18,7 @@ public class RegistrationValidator {
             return;
         }
 
-        long activeRegistrationsCount = countActiveRegistrations(event.getId());
+        long activeRegistrationsCount = countActiveRegistrations(event);
 
         if (activeRegistrationsCount >= event.getMaxParticipants()) {
             throw new VolunteerLimitExceededException(
@@ -49,9 +35,9 @@ public class RegistrationValidator {
     }
 
     /**
-     * Counts active (REGISTERED + COMPLETED) registrations for an event
+     * Counts active (REGISTERED + COMPLETED) registrations for an event from its denormalized counters
      */
-    private long countActiveRegistrations(Long eventId) {
-        return registrationRepository.countByEventIdAndStatusIn(eventId, ACTIVE_STATUSES);
+    private long countActiveRegistrations(Event event) {
+        return (long) event.getParticipantsRegistered() + event.getParticipantsCompleted();
     }
 }
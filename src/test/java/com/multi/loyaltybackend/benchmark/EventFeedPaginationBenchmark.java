@@ -0,0 +1,117 @@
+package com.multi.loyaltybackend.benchmark;
+
+import com.multi.loyaltybackend.dto.CursorPageResponse;
+import com.multi.loyaltybackend.dto.EventResponseDTO;
+import com.multi.loyaltybackend.model.EventCategory;
+import com.multi.loyaltybackend.service.EventService;
+import com.multi.loyaltybackend.util.EventFeedCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Offset vs keyset pagination of the event feed at 100k events, on the database path.
+ * Opt-in, as it loads 100k rows: {@code mvn test -Dtest=EventFeedPaginationBenchmark -Dbenchmark=true}
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:feed-benchmark",
+        "app.event-snapshot.enabled=false"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EventFeedPaginationBenchmark {
+
+    private static final String VIEWER = "john.doe@example.com";
+    private static final int EVENTS = 100_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int[] PAGES = {0, 100, 1_000, 4_000};
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 20;
+    private static final Sort FEED_ORDER = Sort.by("dateTime", "id");
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void createEvents() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Object[]> rows = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            rows.add(new Object[]{"Benchmark event " + i, EventCategory.values()[i % EventCategory.values().length].name(),
+                    Timestamp.valueOf(start.plusMinutes(i)), now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO events (title, category, date_time, max_participants, points, " +
+                "participants_pending, participants_registered, participants_completed, participants_cancelled, " +
+                "created_at, updated_at) VALUES (?, ?, ?, 20, 0, 0, 0, 0, 0, ?, ?)", rows);
+    }
+
+    @Test
+    void offsetVersusKeyset() {
+        for (int page : PAGES) {
+            Page<EventResponseDTO> offsetPage = eventService.getAllEvents(VIEWER, null, null, null, null,
+                    PageRequest.of(page, PAGE_SIZE, FEED_ORDER));
+            String cursor = cursorBefore(page);
+            CursorPageResponse<EventResponseDTO> keysetPage = eventService.getEventFeed(VIEWER, null, null, null, null,
+                    cursor, PAGE_SIZE);
+            assertThat(keysetPage.content()).extracting(EventResponseDTO::id)
+                    .containsExactlyElementsOf(offsetPage.getContent().stream().map(EventResponseDTO::id).toList());
+
+            double offsetMs = medianMillis(() -> eventService.getAllEvents(VIEWER, null, null, null, null,
+                    PageRequest.of(page, PAGE_SIZE, FEED_ORDER)));
+            double keysetMs = medianMillis(() -> eventService.getEventFeed(VIEWER, null, null, null, null,
+                    cursor, PAGE_SIZE));
+            log.info("Feed page {} of {} events: offset {} ms, keyset {} ms (median of {})",
+                    page, EVENTS, String.format("%.2f", offsetMs), String.format("%.2f", keysetMs), MEASURED_RUNS);
+        }
+    }
+
+    /**
+     * Cursor of the last event on the previous page, or the empty first-page cursor
+     */
+    private String cursorBefore(int page) {
+        if (page == 0) {
+            return "";
+        }
+        EventResponseDTO last = eventService.getAllEvents(VIEWER, null, null, null, null,
+                PageRequest.of(page * PAGE_SIZE - 1, 1, FEED_ORDER)).getContent().get(0);
+        return new EventFeedCursor(last.dateTime(), last.id()).encode();
+    }
+
+    private static double medianMillis(Supplier<?> call) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            call.get();
+        }
+        long[] nanos = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            call.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[MEASURED_RUNS / 2] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,113 @@
+package com.multi.loyaltybackend.benchmark;
+
+import com.multi.loyaltybackend.cache.VerifiedTokenCache;
+import com.multi.loyaltybackend.model.Role;
+import com.multi.loyaltybackend.model.User;
+import com.multi.loyaltybackend.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.SecureRandom;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of access token verification, before and after single-parse verification.
+ * Opt-in: {@code mvn test -Dtest=JwtVerificationBenchmark -Dbenchmark=true}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final int DISTINCT_TOKENS = 10_000;
+
+    private String secret;
+    private String token;
+    private String[] tokens;
+    private int next;
+    private JwtService cachingService;
+    private JwtService missingService;
+
+    @Setup
+    public void setUp() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        secret = Encoders.BASE64.encode(key);
+        cachingService = new JwtService(secret, 3_600_000, new VerifiedTokenCache(new SimpleMeterRegistry(), 10_000));
+        // A one-entry cache over many tokens, so nearly every verification misses
+        missingService = new JwtService(secret, 3_600_000, new VerifiedTokenCache(new SimpleMeterRegistry(), 1));
+
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            tokens[i] = cachingService.generateToken(User.builder()
+                    .id((long) i)
+                    .email("user" + i + "@example.com")
+                    .fullName("User " + i)
+                    .role(Role.USER)
+                    .build());
+        }
+        token = tokens[0];
+    }
+
+    /**
+     * The former path: the secret decoded and a parser built on every call, and the token
+     * parsed three times (username in the filter, then username and expiry in isTokenValid)
+     */
+    @Benchmark
+    public Object before() {
+        String subject = parse(token).getSubject();
+        String again = parse(token).getSubject();
+        Date expiration = parse(token).getExpiration();
+        return subject.equals(again) && expiration.after(new Date());
+    }
+
+    @Benchmark
+    public Object singleParseCacheMiss() {
+        String distinct = tokens[next];
+        next = (next + 1) % DISTINCT_TOKENS;
+        return missingService.verify(distinct);
+    }
+
+    @Benchmark
+    public Object singleParseCacheHit() {
+        return cachingService.verify(token);
+    }
+
+    private Claims parse(String jwt) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)))
+                .build()
+                .parseClaimsJws(jwt)
+                .getBody();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void run() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getName())
+                .build()).run();
+    }
+}
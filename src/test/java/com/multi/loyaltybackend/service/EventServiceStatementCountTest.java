@@ -0,0 +1,123 @@
+package com.multi.loyaltybackend.service;
+
+import com.multi.loyaltybackend.model.Event;
+import com.multi.loyaltybackend.model.EventCategory;
+import com.multi.loyaltybackend.model.Registration;
+import com.multi.loyaltybackend.model.RegistrationStatus;
+import com.multi.loyaltybackend.model.User;
+import com.multi.loyaltybackend.repository.EventRepository;
+import com.multi.loyaltybackend.repository.RegistrationRepository;
+import com.multi.loyaltybackend.repository.UserRepository;
+import com.multi.loyaltybackend.support.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the feed against per-event queries: a page costs the same number of statements
+ * whatever its size.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EventServiceStatementCountTest {
+
+    private static final String VIEWER = "john.doe@example.com";
+    private static final List<String> REGISTRANTS = List.of("jane.smith@example.com", "michael.brown@example.com");
+    private static final int EVENTS = 25;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void createEvents() {
+        if (eventRepository.count() >= EVENTS * 2) {
+            return;
+        }
+        List<User> registrants = REGISTRANTS.stream()
+                .map(email -> userRepository.findByEmail(email).orElseThrow())
+                .toList();
+        List<Registration> registrations = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = eventRepository.save(Event.builder()
+                    .title("Statement count event " + i)
+                    .category(EventCategory.SPORT)
+                    .dateTime(LocalDateTime.now().plusDays(30 + i))
+                    .build());
+            for (User registrant : registrants) {
+                registrations.add(Registration.builder()
+                        .user(registrant)
+                        .event(event)
+                        .status(i % 2 == 0 ? RegistrationStatus.REGISTERED : RegistrationStatus.PENDING)
+                        .build());
+            }
+        }
+        registrationRepository.saveAll(registrations);
+    }
+
+    @BeforeEach
+    void warmUp() {
+        // Loads the viewer's registered-event index, which later pages reuse
+        eventService.getAllEvents(VIEWER, null, null, null, null, PageRequest.of(0, 1));
+    }
+
+    @Test
+    void databaseFeedPageCostIsIndependentOfPageSize() {
+        // Only date order is served from the snapshot
+        Sort byTitle = Sort.by("title");
+        int small = statementsFor(PageRequest.of(0, 5, byTitle));
+        int large = statementsFor(PageRequest.of(0, 20, byTitle));
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void snapshotFeedPageCostIsIndependentOfPageSize() {
+        Sort byDate = Sort.by("dateTime");
+        int small = statementsFor(PageRequest.of(0, 5, byDate));
+        int large = statementsFor(PageRequest.of(0, 20, byDate));
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void eventDetailCostIsIndependentOfRegistrations() {
+        Long eventId = eventRepository.findAll(Sort.by("id")).stream()
+                .filter(event -> event.getTitle().startsWith("Statement count event"))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+
+        StatementCounter.reset();
+        eventService.getEventById(eventId);
+
+        // Event row and the attendee preview
+        assertThat(StatementCounter.count()).isLessThanOrEqualTo(2);
+    }
+
+    private int statementsFor(Pageable pageable) {
+        StatementCounter.reset();
+        var page = eventService.getAllEvents(VIEWER, null, null, null, null, pageable);
+        assertThat(page.getContent()).hasSize(pageable.getPageSize());
+        return StatementCounter.count();
+    }
+}
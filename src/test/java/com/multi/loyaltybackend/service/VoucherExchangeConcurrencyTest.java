@@ -0,0 +1,124 @@
+package com.multi.loyaltybackend.service;
+
+import com.multi.loyaltybackend.exception.InsufficientPointsException;
+import com.multi.loyaltybackend.exception.VoucherAlreadyExchangedException;
+import com.multi.loyaltybackend.model.Company;
+import com.multi.loyaltybackend.model.PointsTransactionType;
+import com.multi.loyaltybackend.model.User;
+import com.multi.loyaltybackend.model.Voucher;
+import com.multi.loyaltybackend.repository.CompanyRepository;
+import com.multi.loyaltybackend.repository.UserRepository;
+import com.multi.loyaltybackend.repository.UserVoucherRepository;
+import com.multi.loyaltybackend.repository.VoucherRepository;
+import com.multi.loyaltybackend.support.ConcurrentCalls;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent exchanges must neither overspend a balance nor exchange a voucher twice
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+class VoucherExchangeConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int VOUCHER_POINTS = 10;
+
+    @Autowired
+    private VoucherService voucherService;
+
+    @Autowired
+    private PointsLedgerService pointsLedgerService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private VoucherRepository voucherRepository;
+
+    @Autowired
+    private UserVoucherRepository userVoucherRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void concurrentExchangesNeverOverspendTheBalance() throws Exception {
+        int affordable = 25;
+        User user = createUser(affordable * VOUCHER_POINTS);
+        List<Voucher> vouchers = createVouchers(affordable * 4);
+
+        ConcurrentCalls calls = ConcurrentCalls.run(vouchers.size(), THREADS,
+                i -> voucherService.exchangeVoucher(user.getEmail(), vouchers.get(i).getId()));
+        log.info("Exchanged {} of {} vouchers for one user at {} exchanges/s ({} threads), failures: {}",
+                calls.succeeded(), vouchers.size(), Math.round(calls.callsPerSecond()), THREADS, calls.failures());
+
+        assertThat(calls.succeeded()).isEqualTo(affordable);
+        assertThat(calls.failed(InsufficientPointsException.class)).isEqualTo(vouchers.size() - affordable);
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getTotalPoints()).isZero();
+        assertThat(pointsLedgerService.getBalance(user.getId())).isZero();
+        assertThat(countExchanged(user, vouchers)).isEqualTo(affordable);
+    }
+
+    @Test
+    void concurrentExchangesOfOneVoucherExchangeItOnce() throws Exception {
+        User user = createUser(THREADS * VOUCHER_POINTS);
+        Voucher voucher = createVouchers(1).get(0);
+
+        ConcurrentCalls calls = ConcurrentCalls.run(THREADS, THREADS,
+                i -> voucherService.exchangeVoucher(user.getEmail(), voucher.getId()));
+
+        assertThat(calls.succeeded()).isEqualTo(1);
+        assertThat(calls.failed(VoucherAlreadyExchangedException.class)).isEqualTo(THREADS - 1);
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getTotalPoints())
+                .isEqualTo((THREADS - 1) * VOUCHER_POINTS);
+        assertThat(pointsLedgerService.getBalance(user.getId())).isEqualTo((THREADS - 1) * VOUCHER_POINTS);
+        assertThat(userVoucherRepository.countByVoucherId(voucher.getId())).isEqualTo(1);
+    }
+
+    private User createUser(int points) {
+        return transactionTemplate.execute(status -> {
+            User user = userRepository.save(User.builder()
+                    .email("exchange-" + UUID.randomUUID() + "@example.com")
+                    .fullName("Exchange Test")
+                    .build());
+            pointsLedgerService.credit(user.getId(), points, PointsTransactionType.ADMIN_ADJUSTMENT, null, "Test balance");
+            return user;
+        });
+    }
+
+    private List<Voucher> createVouchers(int count) {
+        Company company = companyRepository.save(Company.builder().name("Exchange " + UUID.randomUUID()).build());
+        List<Voucher> vouchers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            vouchers.add(Voucher.builder()
+                    .title("Exchange voucher " + i)
+                    .points(VOUCHER_POINTS)
+                    .expiry(LocalDateTime.now().plusDays(30))
+                    .company(company)
+                    .build());
+        }
+        return voucherRepository.saveAll(vouchers);
+    }
+
+    private long countExchanged(User user, List<Voucher> vouchers) {
+        return vouchers.stream()
+                .filter(voucher -> userVoucherRepository.existsByUserIdAndVoucherId(user.getId(), voucher.getId()))
+                .count();
+    }
+}
@@ -0,0 +1,105 @@
+package com.multi.loyaltybackend.service;
+
+import com.multi.loyaltybackend.exception.VoucherOutOfStockException;
+import com.multi.loyaltybackend.model.Company;
+import com.multi.loyaltybackend.model.PointsTransactionType;
+import com.multi.loyaltybackend.model.User;
+import com.multi.loyaltybackend.model.Voucher;
+import com.multi.loyaltybackend.repository.CompanyRepository;
+import com.multi.loyaltybackend.repository.UserRepository;
+import com.multi.loyaltybackend.repository.UserVoucherRepository;
+import com.multi.loyaltybackend.repository.VoucherRepository;
+import com.multi.loyaltybackend.support.ConcurrentCalls;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many users exchanging a stock-limited voucher at once must get exactly the stock, never more
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+class VoucherStockConcurrencyTest {
+
+    private static final int CLIENTS = 1_000;
+    private static final int THREADS = 64;
+    private static final int STOCK = 100;
+    private static final int VOUCHER_POINTS = 10;
+
+    @Autowired
+    private VoucherService voucherService;
+
+    @Autowired
+    private VoucherStockService voucherStockService;
+
+    @Autowired
+    private PointsLedgerService pointsLedgerService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private VoucherRepository voucherRepository;
+
+    @Autowired
+    private UserVoucherRepository userVoucherRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void concurrentExchangesNeverOversell() throws Exception {
+        List<User> users = createUsers(CLIENTS);
+        Company company = companyRepository.save(Company.builder().name("Stock " + UUID.randomUUID()).build());
+        Voucher voucher = voucherRepository.save(Voucher.builder()
+                .title("Limited voucher")
+                .points(VOUCHER_POINTS)
+                .expiry(LocalDateTime.now().plusDays(30))
+                .company(company)
+                .stockLimit(STOCK)
+                .build());
+
+        ConcurrentCalls calls = ConcurrentCalls.run(CLIENTS, THREADS,
+                i -> voucherService.exchangeVoucher(users.get(i).getEmail(), voucher.getId()));
+        log.info("{} clients exchanged a voucher with stock {}: {} succeeded at {} exchanges/s ({} threads), failures: {}",
+                CLIENTS, STOCK, calls.succeeded(), Math.round(calls.callsPerSecond()), THREADS, calls.failures());
+
+        assertThat(calls.succeeded()).isEqualTo(STOCK);
+        assertThat(calls.failed(VoucherOutOfStockException.class)).isEqualTo(CLIENTS - STOCK);
+        assertThat(userVoucherRepository.countByVoucherId(voucher.getId())).isEqualTo(STOCK);
+        assertThat(voucherStockService.getRemaining(voucher.getId())).isZero();
+
+        voucherStockService.reconcile(voucher.getId());
+        assertThat(voucherStockService.getRemaining(voucher.getId())).isZero();
+    }
+
+    private List<User> createUsers(int count) {
+        return transactionTemplate.execute(status -> {
+            List<User> users = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                users.add(User.builder()
+                        .email("stock-" + UUID.randomUUID() + "@example.com")
+                        .fullName("Stock Test " + i)
+                        .build());
+            }
+            users = userRepository.saveAll(users);
+            pointsLedgerService.creditAll(users.stream().map(User::getId).toList(), VOUCHER_POINTS,
+                    PointsTransactionType.ADMIN_ADJUSTMENT, null, "Test balance");
+            return users;
+        });
+    }
+}
@@ -0,0 +1,78 @@
+package com.multi.loyaltybackend.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Releases a number of calls at the same moment from their own threads and tallies how they ended
+ */
+public final class ConcurrentCalls {
+
+    private final AtomicInteger succeeded = new AtomicInteger();
+    private final Map<Class<? extends Throwable>, AtomicInteger> failures = new ConcurrentHashMap<>();
+    private long elapsedNanos;
+
+    private ConcurrentCalls() {
+    }
+
+    /**
+     * Runs {@code call} once per index from {@code threads} threads, all starting together
+     */
+    public static ConcurrentCalls run(int calls, int threads, IntConsumer call) throws Exception {
+        ConcurrentCalls result = new ConcurrentCalls();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>(calls);
+            for (int i = 0; i < calls; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        call.accept(index);
+                        result.succeeded.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        result.failures.computeIfAbsent(e.getClass(), type -> new AtomicInteger()).incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+            result.elapsedNanos = System.nanoTime() - begin;
+        } finally {
+            executor.shutdownNow();
+        }
+        return result;
+    }
+
+    public int succeeded() {
+        return succeeded.get();
+    }
+
+    public int failed(Class<? extends Throwable> type) {
+        AtomicInteger count = failures.get(type);
+        return count == null ? 0 : count.get();
+    }
+
+    public Map<Class<? extends Throwable>, AtomicInteger> failures() {
+        return failures;
+    }
+
+    public double callsPerSecond() {
+        int total = succeeded.get() + failures.values().stream().mapToInt(AtomicInteger::get).sum();
+        return total / (elapsedNanos / 1_000_000_000.0);
+    }
+}